@@ -0,0 +1,85 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.CustomBasicAuthnEntryPoint;
+import jakarta.servlet.ServletContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* Cost of answering a failed login: the HandlerExceptionResolver dispatch to
+* ExceptionHandlerSource (the previous path) against the entry point's direct
+* writer. Run with "-prof gc" and compare gc.alloc.rate.norm for bytes
+* allocated per failure.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AuthenticationFailureBenchmark {
+
+    private static final String URI = "/api/v1/basic-authn";
+
+    private ConfigurableApplicationContext context;
+
+    private ServletContext servletContext;
+
+    private HandlerExceptionResolver resolver;
+
+    private CustomBasicAuthnEntryPoint entryPoint;
+
+    private BadCredentialsException badCredentials;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("authentication_failure_benchmark");
+        servletContext = ((WebApplicationContext) context).getServletContext();
+        resolver = context.getBean("handlerExceptionResolver", HandlerExceptionResolver.class);
+        entryPoint = context.getBean(CustomBasicAuthnEntryPoint.class);
+        badCredentials = new BadCredentialsException("Bad credentials");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int handlerExceptionResolver() {
+        var response = new MockHttpServletResponse();
+        response.addHeader("WWW-Authenticate", "Basic realm=\"Realm\"");
+        resolver.resolveException(request(), response, null, badCredentials);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int entryPoint() throws Exception {
+        var response = new MockHttpServletResponse();
+        entryPoint.commence(request(), response, badCredentials);
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest request() {
+        var request = new MockHttpServletRequest(servletContext, "GET", URI);
+        request.setServletPath(URI);
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.authorization.AuthorizationRule;
+import br.com.devlukas.basicauthentication.security.authorization.CompiledAuthorizationManager;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+* Authorization decision for one request with a growing number of per-tenant
+* path rules: the ordered requestMatchers list that authorizeHttpRequests
+* builds, against the compiled rule index. Requests hit random tenants, so
+* the ordered list checks half the rules on average; unmatchedPath falls
+* through every rule to the final authenticated() one.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AuthorizationRulesBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int rules;
+
+    private RequestMatcherDelegatingAuthorizationManager matchers;
+
+    private CompiledAuthorizationManager compiled;
+
+    private HttpServletRequest[] tenantRequests;
+
+    private RequestAuthorizationContext[] tenantContexts;
+
+    private HttpServletRequest unmatchedRequest;
+
+    private RequestAuthorizationContext unmatchedContext;
+
+    private final Supplier<Authentication> authentication = () -> UsernamePasswordAuthenticationToken.authenticated(
+            BenchmarkApplication.USERNAME, null, AuthorityUtils.createAuthorityList("TENANT_0"));
+
+    @Setup
+    public void setUp() {
+        var tenantRules = new ArrayList<AuthorizationRule>(rules);
+        for(int i = 0; i < rules; i++)
+            tenantRules.add(new AuthorizationRule("GET", "/api/v1/tenants/tenant-%d/resources/**".formatted(i),
+                    "authority:TENANT_" + i));
+
+        var builtInRules = List.of(
+                new AuthorizationRule(null, "/api/v1/basic-authn/singup", "permit-all"),
+                new AuthorizationRule(null, "/h2-console/**", "permit-all"));
+
+        var builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        for(var rule : builtInRules)
+            builder.add(AntPathRequestMatcher.antMatcher(rule.pattern()), rule.toAuthorizationManager());
+        for(var rule : tenantRules)
+            builder.add(AntPathRequestMatcher.antMatcher(HttpMethod.GET, rule.pattern()), rule.toAuthorizationManager());
+        builder.anyRequest().authenticated();
+        matchers = builder.build();
+
+        compiled = new CompiledAuthorizationManager(builtInRules);
+        compiled.reload(tenantRules);
+
+        tenantRequests = new HttpServletRequest[REQUESTS];
+        tenantContexts = new RequestAuthorizationContext[REQUESTS];
+        var random = ThreadLocalRandom.current();
+        for(int i = 0; i < REQUESTS; i++) {
+            tenantRequests[i] = request("/api/v1/tenants/tenant-%d/resources/items/42".formatted(random.nextInt(rules)));
+            tenantContexts[i] = new RequestAuthorizationContext(tenantRequests[i]);
+        }
+
+        unmatchedRequest = request("/api/v1/basic-authn");
+        unmatchedContext = new RequestAuthorizationContext(unmatchedRequest);
+    }
+
+    @Benchmark
+    public AuthorizationDecision matchers() {
+        return matchers.check(authentication, tenantRequests[ThreadLocalRandom.current().nextInt(REQUESTS)]);
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiled() {
+        return compiled.check(authentication, tenantContexts[ThreadLocalRandom.current().nextInt(REQUESTS)]);
+    }
+
+    @Benchmark
+    public AuthorizationDecision matchersUnmatchedPath() {
+        return matchers.check(authentication, unmatchedRequest);
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiledUnmatchedPath() {
+        return compiled.check(authentication, unmatchedContext);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        var request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.BasicAuthenticationApplication;
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* Boots the application on a random port against a private in-memory H2
+* database, with one registered user the benchmarks can authenticate as.
+*/
+public final class BenchmarkApplication {
+
+    public static final String USERNAME = "benchmark_user_email@email.com";
+
+    public static final String PASSWORD = "Valid_password_1*";
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String name, String... properties) {
+        var allProperties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + name,
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        allProperties.addAll(List.of(properties));
+
+        var context = new SpringApplicationBuilder(BasicAuthenticationApplication.class)
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+
+        context.getBean(UserService.class).registerUser(new User(USERNAME, PASSWORD));
+
+        return context;
+    }
+}
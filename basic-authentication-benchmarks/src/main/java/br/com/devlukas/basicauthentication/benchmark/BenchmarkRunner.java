@@ -0,0 +1,28 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+* Same as org.openjdk.jmh.Main, but results default to JSON in
+* target/jmh-result.json so runs can be compared across builds.
+*/
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        var commandLine = new CommandLineOptions(args);
+        var options = new OptionsBuilder().parent(commandLine);
+
+        if(!commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+
+        if(!commandLine.getResult().hasValue())
+            options.result(DEFAULT_RESULT_FILE);
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilter;
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilterBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Signup breach check against a memory-mapped filter of the given size:
+* SHA-1 of the password plus the bit probes. A listed password touches
+* every probe, an unlisted one usually stops at the first clear bit.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BreachedPasswordFilterBenchmark {
+
+    private static final int PASSWORDS = 1 << 16;
+
+    @Param({"1000000", "10000000"})
+    public int entries;
+
+    @Param({"0.001"})
+    public double falsePositiveRate;
+
+    private Path directory;
+
+    private BreachedPasswordFilter filter;
+
+    private String[] listed;
+
+    private String[] unlisted;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("breached-password-filter");
+        var input = directory.resolve("hashes.txt");
+        var sha1 = MessageDigest.getInstance("SHA-1");
+        var hex = HexFormat.of().withUpperCase();
+
+        try (var writer = Files.newBufferedWriter(input, StandardCharsets.US_ASCII)) {
+            for(int i = 0; i < entries; i++) {
+                writer.write(hex.formatHex(sha1.digest(breached(i).getBytes(StandardCharsets.UTF_8))));
+                writer.write(":1\n");
+            }
+        }
+
+        var output = directory.resolve("breached-passwords.bloom");
+        var result = BreachedPasswordFilterBuilder.build(input, output, falsePositiveRate, 1_000_000);
+        System.out.printf("%n%d entries, %d bytes, measured false-positive rate %.6f%n",
+                result.entries(), result.sizeInBytes(), result.measuredFalsePositiveRate());
+
+        filter = BreachedPasswordFilter.open(output);
+
+        listed = new String[PASSWORDS];
+        unlisted = new String[PASSWORDS];
+        var random = ThreadLocalRandom.current();
+        for(int i = 0; i < PASSWORDS; i++) {
+            listed[i] = breached(random.nextInt(entries));
+            unlisted[i] = "Valid_password_%d*".formatted(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("hashes.txt"));
+        Files.deleteIfExists(directory.resolve("breached-passwords.bloom"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean listedPassword() {
+        return filter.mightContain(listed[ThreadLocalRandom.current().nextInt(PASSWORDS)]);
+    }
+
+    @Benchmark
+    public boolean unlistedPassword() {
+        return filter.mightContain(unlisted[ThreadLocalRandom.current().nextInt(PASSWORDS)]);
+    }
+
+    private static String breached(int i) {
+        return "Breached_password_%d*".formatted(i);
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+* Authenticated requests from a growing number of concurrent connections,
+* against the servlet and the reactive builds started as separate
+* processes. Each connection sends its next request as soon as the previous
+* one answers. Reports throughput, latency percentiles, errors and the
+* number of threads the server process runs at that load.
+*/
+public class ConnectionScalingBenchmark {
+
+    private static final String DEFAULT_RESULT_FILE = "target/connection-scaling-result.json";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String USERNAME = "scaling_user@email.com";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final int[] connections;
+
+    private final Duration warmUp;
+
+    private final Duration duration;
+
+    public ConnectionScalingBenchmark(int[] connections, Duration warmUp, Duration duration) {
+        this.connections = connections;
+        this.warmUp = warmUp;
+        this.duration = duration;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var connections = new int[]{100, 1000, 10000};
+        var warmUp = Duration.ofSeconds(5);
+        var duration = Duration.ofSeconds(20);
+        var result = DEFAULT_RESULT_FILE;
+        var variants = new LinkedHashMap<String, List<String>>();
+
+        for(var arg : args) {
+            if(arg.startsWith("--connections="))
+                connections = Arrays.stream(arg.substring("--connections=".length()).split(","))
+                        .mapToInt(Integer::parseInt)
+                        .toArray();
+            else if(arg.startsWith("--warm-up-seconds="))
+                warmUp = Duration.ofSeconds(Long.parseLong(arg.substring("--warm-up-seconds=".length())));
+            else if(arg.startsWith("--duration-seconds="))
+                duration = Duration.ofSeconds(Long.parseLong(arg.substring("--duration-seconds=".length())));
+            else if(arg.startsWith("--result="))
+                result = arg.substring("--result=".length());
+            else if(arg.indexOf('=') > 0)
+                variants.put(arg.substring(0, arg.indexOf('=')),
+                        Arrays.asList(arg.substring(arg.indexOf('=') + 1).trim().split("\\s+")));
+            else
+                throw new IllegalArgumentException("Expected name=command or an option: " + arg);
+        }
+
+        if(variants.isEmpty())
+            throw new IllegalArgumentException("No variant given, expected name=command");
+
+        var benchmark = new ConnectionScalingBenchmark(connections, warmUp, duration);
+        var results = new ArrayList<Result>();
+        for(var variant : variants.entrySet())
+            results.addAll(benchmark.measure(variant.getKey(), variant.getValue()));
+
+        Files.writeString(Path.of(result), json(results));
+        System.out.println("Results written to " + result);
+    }
+
+    public List<Result> measure(String name, List<String> command) throws Exception {
+        var results = new ArrayList<Result>();
+
+        try (var server = ServerProcess.start(command, Path.of("target", "connection-scaling", name + ".log"))) {
+            server.signUpWhenReady(client, USERNAME, BenchmarkApplication.PASSWORD, STARTUP_TIMEOUT);
+
+            var request = HttpRequest.newBuilder(server.baseUrl())
+                    .header("Authorization", ServerProcess.basic(USERNAME, BenchmarkApplication.PASSWORD))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+
+            for(var count : connections) {
+                drive(request, count, warmUp);
+                var latencies = drive(request, count, duration);
+                var result = Result.of(name, count, duration, latencies, server.threadCount());
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+
+        return results;
+    }
+
+    private Latencies drive(HttpRequest request, int connections, Duration duration) {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var errors = new AtomicLong();
+
+        var loops = new ArrayList<CompletableFuture<long[]>>(connections);
+        for(int i = 0; i < connections; i++) {
+            var connection = new Connection(request, deadline, errors);
+            connection.next();
+            loops.add(connection.done);
+        }
+
+        var samples = loops.stream().map(CompletableFuture::join).toList();
+        return Latencies.merge(samples, errors.get());
+    }
+
+    /*
+    * One connection: sends the next request from the callback of the
+    * previous response until the deadline, without holding a thread while
+    * it waits.
+    */
+    private final class Connection {
+
+        private final HttpRequest request;
+
+        private final long deadline;
+
+        private final AtomicLong errors;
+
+        private final CompletableFuture<long[]> done = new CompletableFuture<>();
+
+        private long[] samples = new long[256];
+
+        private int count;
+
+        Connection(HttpRequest request, long deadline, AtomicLong errors) {
+            this.request = request;
+            this.deadline = deadline;
+            this.errors = errors;
+        }
+
+        void next() {
+            if(System.nanoTime() >= deadline) {
+                done.complete(Arrays.copyOf(samples, count));
+                return;
+            }
+
+            var start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if(ex != null || response.statusCode() != 200)
+                    errors.incrementAndGet();
+
+                if(count == samples.length)
+                    samples = Arrays.copyOf(samples, count * 2);
+                samples[count++] = System.nanoTime() - start;
+
+                next();
+            });
+        }
+    }
+
+    private static String json(List<Result> results) {
+        var json = new StringBuilder("[");
+        for(var result : results) {
+            if(json.length() > 1)
+                json.append(',');
+            json.append("\n  {\"variant\":\"").append(result.variant()).append('"')
+                    .append(",\"connections\":").append(result.connections())
+                    .append(",\"requests\":").append(result.requests())
+                    .append(",\"errors\":").append(result.errors())
+                    .append(",\"throughputPerSecond\":").append(result.throughputPerSecond())
+                    .append(",\"p50Millis\":").append(result.p50Millis())
+                    .append(",\"p99Millis\":").append(result.p99Millis())
+                    .append(",\"p999Millis\":").append(result.p999Millis())
+                    .append(",\"serverThreads\":").append(result.serverThreads())
+                    .append('}');
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    private record Latencies(long[] sortedNanos, long errors) {
+
+        static Latencies merge(List<long[]> samples, long errors) {
+            var merged = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Latencies(merged, errors);
+        }
+
+        double percentileMillis(double percentile) {
+            if(sortedNanos.length == 0)
+                return 0;
+            var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    public record Result(String variant, int connections, long requests, long errors, double throughputPerSecond,
+                         double p50Millis, double p99Millis, double p999Millis, int serverThreads) {
+
+        static Result of(String variant, int connections, Duration duration, Latencies latencies, int serverThreads) {
+            var requests = latencies.sortedNanos().length;
+            return new Result(variant, connections, requests, latencies.errors(),
+                    requests / (duration.toMillis() / 1000.0),
+                    latencies.percentileMillis(0.50),
+                    latencies.percentileMillis(0.99),
+                    latencies.percentileMillis(0.999),
+                    serverThreads);
+        }
+    }
+}
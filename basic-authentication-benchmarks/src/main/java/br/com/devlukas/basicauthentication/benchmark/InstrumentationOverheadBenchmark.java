@@ -0,0 +1,101 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.metrics.InstrumentedAuthenticationProvider;
+import br.com.devlukas.basicauthentication.security.metrics.InstrumentedUserDetailsService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+* Cost of the authentication metrics on their own: an in-memory user store
+* and a no-op password encoder leave only the instrumentation as the
+* difference between the plain and instrumented variants. Timers publish
+* percentile histograms into a Prometheus registry, as in the application.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class InstrumentationOverheadBenchmark {
+
+    private UserDetailsService plainUserDetailsService;
+
+    private UserDetailsService instrumentedUserDetailsService;
+
+    private AuthenticationProvider plainProvider;
+
+    private AuthenticationProvider instrumentedProvider;
+
+    private Authentication credentials;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        var meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        plainUserDetailsService = new InMemoryUserDetailsManager(User.withUsername(BenchmarkApplication.USERNAME)
+                .password(BenchmarkApplication.PASSWORD)
+                .build());
+        instrumentedUserDetailsService = new InstrumentedUserDetailsService(plainUserDetailsService, meterRegistry);
+
+        var provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(plainUserDetailsService);
+        provider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        plainProvider = provider;
+        instrumentedProvider = new InstrumentedAuthenticationProvider(provider, meterRegistry);
+
+        credentials = UsernamePasswordAuthenticationToken.unauthenticated(BenchmarkApplication.USERNAME,
+                BenchmarkApplication.PASSWORD);
+    }
+
+    @Benchmark
+    public UserDetails plainLookup() {
+        return plainUserDetailsService.loadUserByUsername(BenchmarkApplication.USERNAME);
+    }
+
+    @Benchmark
+    public UserDetails instrumentedLookup() {
+        return instrumentedUserDetailsService.loadUserByUsername(BenchmarkApplication.USERNAME);
+    }
+
+    @Benchmark
+    public Authentication plainAuthentication() {
+        return plainProvider.authenticate(credentials);
+    }
+
+    @Benchmark
+    public Authentication instrumentedAuthentication() {
+        return instrumentedProvider.authenticate(credentials);
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimitProperties;
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Login rate limiter under contention: every thread reserving attempts that
+* are never refunded, as failed logins, for one hot username (a targeted brute force) and for usernames
+* and addresses spread over a large key space (credential stuffing).
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LoginRateLimiterBenchmark {
+
+    private static final int KEY_SPACE = 1 << 20;
+
+    private LoginRateLimiter rateLimiter;
+
+    private String[] usernames;
+
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new LoginRateLimiter(
+                new LoginRateLimitProperties(true, 10, Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 4, 16384),
+                new SimpleMeterRegistry(), System::currentTimeMillis);
+
+        usernames = new String[KEY_SPACE];
+        addresses = new String[KEY_SPACE];
+        for(int i = 0; i < KEY_SPACE; i++) {
+            usernames[i] = "user_%d@email.com".formatted(i);
+            addresses[i] = "10.%d.%d.%d".formatted(i >>> 16 & 0xFF, i >>> 8 & 0xFF, i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public long hotUsername() {
+        return rateLimiter.reserve(BenchmarkApplication.USERNAME, "10.0.0.1");
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        var random = ThreadLocalRandom.current();
+        return rateLimiter.reserve(usernames[random.nextInt(KEY_SPACE)], addresses[random.nextInt(KEY_SPACE)]);
+    }
+
+    @Benchmark
+    public long checkOnly() {
+        var random = ThreadLocalRandom.current();
+        return rateLimiter.retryAfterMillis(usernames[random.nextInt(KEY_SPACE)], addresses[random.nextInt(KEY_SPACE)]);
+    }
+}
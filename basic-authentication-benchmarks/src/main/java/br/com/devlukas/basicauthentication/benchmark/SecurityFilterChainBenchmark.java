@@ -0,0 +1,91 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Runs mock requests through springSecurityFilterChain only; the terminal
+* MockFilterChain stands in for the DispatcherServlet.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SecurityFilterChainBenchmark {
+
+    private static final String URI = "/api/v1/basic-authn";
+
+    @Param({"false", "true"})
+    private boolean credentialCache;
+
+    private ConfigurableApplicationContext context;
+
+    private ServletContext servletContext;
+
+    private Filter securityFilterChain;
+
+    private String basicAuthorization;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("filter_chain_benchmark",
+                "basic-authn.credential-cache.enabled=" + credentialCache);
+        servletContext = ((WebApplicationContext) context).getServletContext();
+        securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        basicAuthorization = "Basic " + Base64.getEncoder().encodeToString(
+                (BenchmarkApplication.USERNAME + ":" + BenchmarkApplication.PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        var request = request();
+        request.addHeader(HttpHeaders.AUTHORIZATION, basicAuthorization);
+        return doFilter(request);
+    }
+
+    @Benchmark
+    public int missingCredentials() throws Exception {
+        return doFilter(request());
+    }
+
+    private MockHttpServletRequest request() {
+        var request = new MockHttpServletRequest(servletContext, "GET", URI);
+        request.setServletPath(URI);
+        return request;
+    }
+
+    private int doFilter(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+* The application started as a separate process on a free port, for the
+* benchmarks that compare builds or launch modes rather than code paths.
+* Works with any build that takes --server.port and exposes the
+* /api/v1/basic-authn endpoints. Output goes to the given log file.
+*/
+final class ServerProcess implements AutoCloseable {
+
+    private static final String BASE_URL = "http://localhost:%d/api/v1/basic-authn";
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    private final Process process;
+
+    private final long startNanos;
+
+    private final URI baseUrl;
+
+    private final Path log;
+
+    private ServerProcess(Process process, long startNanos, URI baseUrl, Path log) {
+        this.process = process;
+        this.startNanos = startNanos;
+        this.baseUrl = baseUrl;
+        this.log = log;
+    }
+
+    static ServerProcess start(List<String> command, Path log) throws IOException {
+        var port = freePort();
+        var fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+
+        Files.createDirectories(log.getParent());
+
+        var startNanos = System.nanoTime();
+        var process = new ProcessBuilder(fullCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        return new ServerProcess(process, startNanos, URI.create(BASE_URL.formatted(port)), log);
+    }
+
+    URI baseUrl() {
+        return baseUrl;
+    }
+
+    Path log() {
+        return log;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    /*
+    * Polls the signup endpoint until the server answers and the user is
+    * created.
+    */
+    void signUpWhenReady(HttpClient client, String username, String password, Duration timeout) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/singup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"%s\",\"password\":\"%s\"}"
+                        .formatted(username, password)))
+                .build();
+
+        var deadline = startNanos + timeout.toNanos();
+        while(System.nanoTime() < deadline) {
+            if(!process.isAlive())
+                throw new IllegalStateException("Process exited with %d, see %s".formatted(process.exitValue(), log));
+
+            try {
+                var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if(status != 201)
+                    throw new IllegalStateException("Signup answered %d, see %s".formatted(status, log));
+                return;
+            } catch (ConnectException ex) {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+        }
+        throw new IllegalStateException("No response within %s, see %s".formatted(timeout, log));
+    }
+
+    /*
+    * Threads of the server process, read from /proc; -1 where that is not
+    * available.
+    */
+    int threadCount() {
+        try {
+            for(var line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+                if(line.startsWith("Threads:"))
+                    return Integer.parseInt(line.substring("Threads:".length()).trim());
+            }
+        } catch (IOException | NumberFormatException ex) {
+            return -1;
+        }
+        return -1;
+    }
+
+    static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if(!process.waitFor(10, TimeUnit.SECONDS))
+            process.destroyForcibly().waitFor();
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
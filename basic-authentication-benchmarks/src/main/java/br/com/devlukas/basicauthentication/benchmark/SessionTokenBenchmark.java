@@ -0,0 +1,94 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.security.token.SessionTokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Pure Basic authentication against a signed session token through the
+* same security filter chain, plus token verification on its own.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SessionTokenBenchmark {
+
+    private static final String URI = "/api/v1/basic-authn";
+
+    private ConfigurableApplicationContext context;
+
+    private ServletContext servletContext;
+
+    private Filter securityFilterChain;
+
+    private SessionTokenService sessionTokenService;
+
+    private String basicAuthorization;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("session_token_benchmark", "basic-authn.session-token.enabled=true");
+        servletContext = ((WebApplicationContext) context).getServletContext();
+        securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        sessionTokenService = context.getBean(SessionTokenService.class);
+        basicAuthorization = "Basic " + Base64.getEncoder().encodeToString(
+                (BenchmarkApplication.USERNAME + ":" + BenchmarkApplication.PASSWORD).getBytes(StandardCharsets.UTF_8));
+        token = sessionTokenService.issue(BenchmarkApplication.USERNAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int basicAuthentication() throws Exception {
+        return doFilter(basicAuthorization);
+    }
+
+    @Benchmark
+    public int sessionTokenAuthentication() throws Exception {
+        return doFilter("Bearer " + token);
+    }
+
+    @Benchmark
+    public String verifyToken() {
+        return sessionTokenService.verify(token);
+    }
+
+    private int doFilter(String authorization) throws Exception {
+        var request = new MockHttpServletRequest(servletContext, "GET", URI);
+        request.setServletPath(URI);
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+
+        var response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
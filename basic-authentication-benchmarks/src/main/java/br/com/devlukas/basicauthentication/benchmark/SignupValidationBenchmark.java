@@ -0,0 +1,71 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SignupValidationBenchmark {
+
+    /*
+    * Length of a password that has no special character. The old @Pattern
+    * regex scanned the whole input once per lookahead; @ValidPassword stops
+    * after 72 bytes.
+    */
+    @Param({"16", "1024", "65536"})
+    private int invalidPasswordLength;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private UserRequestBodyDTO validRequest;
+
+    private UserRequestBodyDTO invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = new UserRequestBodyDTO(BenchmarkApplication.USERNAME, BenchmarkApplication.PASSWORD);
+        invalidRequest = new UserRequestBodyDTO(BenchmarkApplication.USERNAME,
+                "Aa1" + "a".repeat(invalidPasswordLength - 3));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestBodyDTO>> validPayload() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestBodyDTO>> invalidPassword() {
+        return validator.validate(invalidRequest);
+    }
+}
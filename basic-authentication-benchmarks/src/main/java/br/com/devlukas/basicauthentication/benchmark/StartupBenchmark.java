@@ -0,0 +1,134 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Time from process start to the first authenticated request, for each way
+* of building and launching the application. Every run starts a fresh
+* process on a free port, polls the signup endpoint until the user is
+* created and then authenticates as that user; the process is stopped
+* afterwards. Variants are given as name=command arguments, see the README.
+*/
+public class StartupBenchmark {
+
+    private static final String DEFAULT_RESULT_FILE = "target/startup-result.json";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final int runs;
+
+    public StartupBenchmark(int runs) {
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var runs = 5;
+        var result = DEFAULT_RESULT_FILE;
+        var variants = new LinkedHashMap<String, List<String>>();
+
+        for(var arg : args) {
+            if(arg.startsWith("--runs="))
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+            else if(arg.startsWith("--result="))
+                result = arg.substring("--result=".length());
+            else if(arg.indexOf('=') > 0)
+                variants.put(arg.substring(0, arg.indexOf('=')),
+                        Arrays.asList(arg.substring(arg.indexOf('=') + 1).trim().split("\\s+")));
+            else
+                throw new IllegalArgumentException("Expected name=command, --runs=N or --result=file: " + arg);
+        }
+
+        if(variants.isEmpty())
+            throw new IllegalArgumentException("No variant given, expected name=command");
+
+        var benchmark = new StartupBenchmark(runs);
+        var results = new LinkedHashMap<String, List<Sample>>();
+        for(var variant : variants.entrySet())
+            results.put(variant.getKey(), benchmark.measure(variant.getKey(), variant.getValue()));
+
+        report(results);
+        Files.writeString(Path.of(result), json(results));
+        System.out.println("Results written to " + result);
+    }
+
+    public List<Sample> measure(String name, List<String> command) throws Exception {
+        var samples = new ArrayList<Sample>();
+        for(int run = 1; run <= runs; run++) {
+            var sample = run(name, run, command);
+            System.out.printf("%s run %d: signup %d ms, authenticated %d ms%n",
+                    name, run, sample.signupMillis(), sample.authenticatedMillis());
+            samples.add(sample);
+        }
+        return samples;
+    }
+
+    private Sample run(String name, int run, List<String> command) throws Exception {
+        var username = "startup_%d@email.com".formatted(run);
+
+        try (var server = ServerProcess.start(command, Path.of("target", "startup", "%s-%d.log".formatted(name, run)))) {
+            server.signUpWhenReady(client, username, BenchmarkApplication.PASSWORD, STARTUP_TIMEOUT);
+            var signup = System.nanoTime();
+
+            var status = client.send(HttpRequest.newBuilder(server.baseUrl())
+                    .header("Authorization", ServerProcess.basic(username, BenchmarkApplication.PASSWORD))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            var authenticated = System.nanoTime();
+
+            if(status != 200)
+                throw new IllegalStateException("%s: authenticated request answered %d, see %s"
+                        .formatted(name, status, server.log()));
+
+            return new Sample(TimeUnit.NANOSECONDS.toMillis(signup - server.startNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(authenticated - server.startNanos()));
+        }
+    }
+
+    private static void report(Map<String, List<Sample>> results) {
+        System.out.printf("%n%-20s %14s %14s %14s%n", "variant", "min (ms)", "median (ms)", "max (ms)");
+        for(var result : results.entrySet()) {
+            var millis = result.getValue().stream().mapToLong(Sample::authenticatedMillis).sorted().toArray();
+            System.out.printf("%-20s %14d %14d %14d%n",
+                    result.getKey(), millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+    }
+
+    private static String json(Map<String, List<Sample>> results) {
+        var json = new StringBuilder("[");
+        for(var result : results.entrySet()) {
+            if(json.length() > 1)
+                json.append(',');
+
+            json.append("\n  {\"variant\":\"").append(result.getKey()).append("\",\"runs\":[");
+            var samples = result.getValue();
+            for(int i = 0; i < samples.size(); i++) {
+                if(i > 0)
+                    json.append(',');
+                json.append("{\"signupMillis\":").append(samples.get(i).signupMillis())
+                        .append(",\"authenticatedMillis\":").append(samples.get(i).authenticatedMillis())
+                        .append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    public record Sample(long signupMillis, long authenticatedMillis) {
+    }
+}
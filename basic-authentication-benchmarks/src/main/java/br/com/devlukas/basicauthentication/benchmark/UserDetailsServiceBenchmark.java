@@ -0,0 +1,62 @@
+package br.com.devlukas.basicauthentication.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean userDetailsCache;
+
+    private ConfigurableApplicationContext context;
+
+    private UserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("user_details_benchmark",
+                "basic-authn.user-details-cache.enabled=" + userDetailsCache);
+        userDetailsService = context.getBean(UserDetailsService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadExistingUser() {
+        return userDetailsService.loadUserByUsername(BenchmarkApplication.USERNAME);
+    }
+
+    @Benchmark
+    public Object loadUnknownUser() {
+        try {
+            return userDetailsService.loadUserByUsername("unknown_user_email@email.com");
+        } catch (UsernameNotFoundException ex) {
+            return ex;
+        }
+    }
+}
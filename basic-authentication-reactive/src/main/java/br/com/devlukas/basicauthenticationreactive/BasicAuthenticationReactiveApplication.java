@@ -0,0 +1,20 @@
+package br.com.devlukas.basicauthenticationreactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/*
+* A project of its own that builds without the servlet one, like the
+* study folders of this repository. The request, result and error body
+* classes under dto and handler therefore copy the servlet build's, which
+* keeps the two JSON contracts identical; a change to one copy belongs in
+* the other too.
+*/
+@SpringBootApplication
+public class BasicAuthenticationReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(BasicAuthenticationReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,45 @@
+package br.com.devlukas.basicauthenticationreactive.controller;
+
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthenticationreactive.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthenticationreactive.service.BatchRegistrationService;
+import br.com.devlukas.basicauthenticationreactive.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/basic-authn")
+public class BasicAuthnController {
+
+    private final UserService userService;
+
+    private final BatchRegistrationService batchRegistrationService;
+
+    public BasicAuthnController(UserService userService, BatchRegistrationService batchRegistrationService) {
+        this.userService = userService;
+        this.batchRegistrationService = batchRegistrationService;
+    }
+
+
+    @PostMapping("/singup")
+    public Mono<ResponseEntity<String>> singUp(@RequestBody @Valid UserRequestBodyDTO userRequestBodyDTO) {
+        return userService.registerUser(userRequestBodyDTO.toEntity())
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED)
+                        .body("User %s successfully registered!".formatted(userRequestBodyDTO.username())));
+    }
+
+    @PostMapping(path = "/singup/batch", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<BatchRegistrationResultDTO>> singUpBatch(@RequestBody Flux<UserRequestBodyDTO> records) {
+        return batchRegistrationService.registerUsers(records).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<String>> onlyAuthenticated() {
+        return Mono.just(ResponseEntity.ok("Private message only for athenticated users."));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.devlukas.basicauthenticationreactive.dto;
+
+import java.util.List;
+
+public record BatchRegistrationResultDTO(
+        int received,
+        int registered,
+        List<RecordError> errors
+) {
+
+    public record RecordError(int index, String username, List<String> messages) {
+    }
+}
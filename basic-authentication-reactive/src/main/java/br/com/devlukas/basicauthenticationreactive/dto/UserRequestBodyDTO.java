@@ -0,0 +1,23 @@
+package br.com.devlukas.basicauthenticationreactive.dto;
+
+import br.com.devlukas.basicauthenticationreactive.domain.User;
+import br.com.devlukas.basicauthenticationreactive.dto.validation.ValidPassword;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record UserRequestBodyDTO(
+
+        @Email(message = "Provide a valid email")
+        @NotBlank(message = "Username cannot be blank")
+        @Size(max = 254, message = "Username cannot be longer than 254 characters")
+        String username,
+
+        @ValidPassword
+        String password) {
+
+    public User toEntity() {
+        return new User(this.username, this.password);
+    }
+}
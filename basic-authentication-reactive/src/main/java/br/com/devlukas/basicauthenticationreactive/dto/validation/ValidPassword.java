@@ -0,0 +1,32 @@
+package br.com.devlukas.basicauthenticationreactive.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+* Password policy checked in one pass: at least 8 characters with an upper
+* case letter, a lower case letter, a digit and a special character, and no
+* more than maxBytes UTF-8 bytes, which is all BCrypt looks at.
+*/
+@Documented
+@Constraint(validatedBy = PasswordPolicyValidator.class)
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidPassword {
+
+    String message() default "Password requires at least 8 characters, with numbers, upper and lower case letters and special characters";
+
+    String tooLongMessage() default "Password cannot be longer than 72 bytes";
+
+    int maxBytes() default 72;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,12 @@
+package br.com.devlukas.basicauthenticationreactive.handler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ExceptionDetailsBody(
+        String path,
+        List<String> messages,
+        int statusCode,
+        LocalDateTime localDateTime
+) {
+}
@@ -0,0 +1,71 @@
+package br.com.devlukas.basicauthenticationreactive.handler;
+
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingRejectedException;
+import br.com.devlukas.basicauthenticationreactive.service.exceptions.UserAlreadyRegisteredException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+* Same bodies and status codes as the servlet module's ExceptionHandlerSource.
+* Authentication failures never reach the controllers and are answered by
+* JsonAuthenticationEntryPoint instead.
+*/
+@RestControllerAdvice
+public class ExceptionHandlerSource extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(UserAlreadyRegisteredException.class)
+    public ResponseEntity<ExceptionDetailsBody> userAlredyRegistered(UserAlreadyRegisteredException ex,
+                                                                     ServerWebExchange exchange) {
+
+        return new ResponseEntity<>(new ExceptionDetailsBody(
+                exchange.getRequest().getPath().value(),
+                List.of(ex.getMessage()),
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now()
+        ), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ExceptionDetailsBody> passwordHashingRejected(PasswordHashingRejectedException ex,
+                                                                        ServerWebExchange exchange) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ExceptionDetailsBody(
+                        exchange.getRequest().getPath().value(),
+                        List.of(ex.getMessage()),
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex,
+                                                                          HttpHeaders headers,
+                                                                          HttpStatusCode status,
+                                                                          ServerWebExchange exchange) {
+
+        var fieldsMessage = ex.getBindingResult().getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .toList();
+
+        return Mono.just(new ResponseEntity<>(new ExceptionDetailsBody(
+                exchange.getRequest().getPath().value(),
+                fieldsMessage,
+                status.value(),
+                LocalDateTime.now()
+        ), HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.devlukas.basicauthenticationreactive.repository;
+
+import br.com.devlukas.basicauthenticationreactive.domain.User;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+
+    Mono<User> findByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package br.com.devlukas.basicauthenticationreactive.security;
+
+import br.com.devlukas.basicauthenticationreactive.repository.UserRepository;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+/*
+* An unknown email completes empty, the authentication manager turns that
+* into bad credentials.
+*/
+public class CustomReactiveUserDetailsService implements ReactiveUserDetailsService {
+
+    private final UserRepository userRepository;
+
+    public CustomReactiveUserDetailsService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        return userRepository.findByEmail(email)
+                .map(user -> User.builder()
+                        .username(user.getEmail())
+                        .password(user.getPassword())
+                        .build());
+    }
+}
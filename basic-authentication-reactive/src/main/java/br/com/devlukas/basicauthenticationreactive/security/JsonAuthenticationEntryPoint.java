@@ -0,0 +1,71 @@
+package br.com.devlukas.basicauthenticationreactive.security;
+
+import br.com.devlukas.basicauthenticationreactive.handler.ExceptionDetailsBody;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingRejectedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+* Writes the servlet module's 401/403/503 bodies for failures raised by the
+* security filters. WebFlux reports a missing Authorization header as
+* AuthenticationCredentialsNotFoundException, which gets the same 403 and
+* message the servlet build answers with.
+*/
+public class JsonAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+    private static final String MISSING_AUTHENTICATION = "Full authentication is required to access this resource";
+
+    private final ObjectMapper objectMapper;
+
+    public JsonAuthenticationEntryPoint(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException ex) {
+        var response = exchange.getResponse();
+        var status = HttpStatus.UNAUTHORIZED;
+        var message = "Email or password is incorrect";
+
+        if(ex instanceof PasswordHashingRejectedException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = ex.getMessage();
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        } else if(ex instanceof AuthenticationCredentialsNotFoundException) {
+            status = HttpStatus.FORBIDDEN;
+            message = MISSING_AUTHENTICATION;
+        } else if(ex instanceof InsufficientAuthenticationException) {
+            status = HttpStatus.FORBIDDEN;
+            message = ex.getMessage();
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new ExceptionDetailsBody(
+                    exchange.getRequest().getPath().value(),
+                    List.of(message),
+                    status.value(),
+                    LocalDateTime.now()));
+        } catch (JsonProcessingException jsonException) {
+            return Mono.error(jsonException);
+        }
+
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.devlukas.basicauthenticationreactive.security;
+
+import br.com.devlukas.basicauthenticationreactive.repository.UserRepository;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingProperties;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class SecurityConfig {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager authenticationManager,
+                                                         JsonAuthenticationEntryPoint entryPoint) {
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(
+                        exchange -> exchange.pathMatchers(BASE_URL + "/singup").permitAll()
+                                .anyExchange().authenticated()
+                )
+                .httpBasic(httpBasic -> httpBasic.authenticationManager(authenticationManager)
+                        .authenticationEntryPoint(entryPoint))
+                .exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(entryPoint))
+                .build();
+    }
+
+    @Bean
+    public JsonAuthenticationEntryPoint jsonAuthenticationEntryPoint(ObjectMapper objectMapper) {
+        return new JsonAuthenticationEntryPoint(objectMapper);
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(UserRepository userRepository) {
+        return new CustomReactiveUserDetailsService(userRepository);
+    }
+
+    /*
+    * Password checks run on the hashing scheduler rather than the default
+    * bounded elastic one, so logins and signups share the same bound.
+    * Unknown emails get a dummy check there too.
+    */
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                               PasswordEncoder passwordEncoder,
+                                                               PasswordHashingScheduler passwordHashing) {
+        var manager = new TimingSafeAuthenticationManager(userDetailsService, passwordEncoder,
+                passwordHashing.scheduler());
+
+        return authentication -> manager.authenticate(authentication)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingScheduler::rejected);
+    }
+
+    @Bean
+    public PasswordHashingScheduler passwordHashingScheduler(PasswordEncoder passwordEncoder,
+                                                             PasswordHashingProperties properties) {
+        return new PasswordHashingScheduler(passwordEncoder, properties);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new BCryptPasswordEncoder(properties.strength());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.devlukas.basicauthenticationreactive.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.UUID;
+
+/*
+* Checks the password of an unknown email against a dummy hash, like
+* DaoAuthenticationProvider does in the servlet build, so both kinds of
+* failure take one hash check and the response time does not tell which
+* emails are registered. The dummy check runs on the same scheduler as
+* the real one.
+*/
+public class TimingSafeAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final UserDetailsRepositoryReactiveAuthenticationManager delegate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Scheduler scheduler;
+
+    private final String dummyHash;
+
+    public TimingSafeAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                           PasswordEncoder passwordEncoder,
+                                           Scheduler scheduler) {
+        this.delegate = new UserDetailsRepositoryReactiveAuthenticationManager(email ->
+                userDetailsService.findByUsername(email)
+                        .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found."))));
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.delegate.setScheduler(scheduler);
+        this.passwordEncoder = passwordEncoder;
+        this.scheduler = scheduler;
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return delegate.authenticate(authentication)
+                .onErrorResume(UsernameNotFoundException.class, ex -> Mono.fromCallable(
+                                () -> passwordEncoder.matches(String.valueOf(authentication.getCredentials()), dummyHash))
+                        .subscribeOn(scheduler)
+                        .then(Mono.error(new BadCredentialsException("Invalid Credentials"))));
+    }
+}
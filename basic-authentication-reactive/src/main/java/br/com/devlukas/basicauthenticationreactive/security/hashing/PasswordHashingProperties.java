@@ -0,0 +1,20 @@
+package br.com.devlukas.basicauthenticationreactive.security.hashing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+* A pool size of 0 sizes the pool to the number of available processors.
+* The queue capacity is per hashing thread.
+*/
+@ConfigurationProperties(prefix = "basic-authn.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int poolSize,
+        @DefaultValue("100") int queueCapacity,
+        @DefaultValue("10") int strength
+) {
+
+    public int effectivePoolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+}
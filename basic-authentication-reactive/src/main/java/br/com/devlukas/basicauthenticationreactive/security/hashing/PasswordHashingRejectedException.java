@@ -0,0 +1,14 @@
+package br.com.devlukas.basicauthenticationreactive.security.hashing;
+
+import org.springframework.security.core.AuthenticationException;
+
+/*
+* An AuthenticationException so that a rejection during login reaches the
+* entry point. Not an AuthenticationServiceException, which the WebFlux
+* Basic failure handler rethrows as a 500.
+*/
+public class PasswordHashingRejectedException extends AuthenticationException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.devlukas.basicauthenticationreactive.security.hashing;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+* Keeps BCrypt off the Netty event loops: hashing runs on a bounded
+* scheduler with one thread per core and a bounded queue per thread. When
+* the queue is full the work is rejected with a 503 instead of piling up
+* behind the ones already waiting.
+*/
+public class PasswordHashingScheduler implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Scheduler scheduler;
+
+    public PasswordHashingScheduler(PasswordEncoder passwordEncoder, PasswordHashingProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+        this.scheduler = Schedulers.newBoundedElastic(properties.effectivePoolSize(), properties.queueCapacity(),
+                "password-hashing");
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingScheduler::rejected);
+    }
+
+    public static PasswordHashingRejectedException rejected(RejectedExecutionException ex) {
+        return new PasswordHashingRejectedException("Server is busy, try again later");
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
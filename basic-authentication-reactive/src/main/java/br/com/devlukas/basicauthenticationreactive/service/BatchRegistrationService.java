@@ -0,0 +1,101 @@
+package br.com.devlukas.basicauthenticationreactive.service;
+
+import br.com.devlukas.basicauthenticationreactive.domain.User;
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO.RecordError;
+import br.com.devlukas.basicauthenticationreactive.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingProperties;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingRejectedException;
+import br.com.devlukas.basicauthenticationreactive.service.exceptions.UserAlreadyRegisteredException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* Registers a stream of NDJSON (or JSON array) signup records as they are
+* decoded, with as many records hashing at once as there are hashing
+* threads. Records that fail are reported by their position in the input
+* and never abort the rest of the batch; that includes records whose
+* hashing was rejected, since the records before them are already saved.
+*/
+@Service
+public class BatchRegistrationService {
+
+    private final UserService userService;
+
+    private final Validator validator;
+
+    private final int concurrency;
+
+    public BatchRegistrationService(UserService userService,
+                                    Validator validator,
+                                    PasswordHashingProperties passwordHashingProperties) {
+        this.userService = userService;
+        this.validator = validator;
+        this.concurrency = passwordHashingProperties.effectivePoolSize();
+    }
+
+    public Mono<BatchRegistrationResultDTO> registerUsers(Flux<UserRequestBodyDTO> records) {
+        var received = new AtomicInteger();
+        var seenEmails = new HashSet<String>();
+
+        return records
+                .map(record -> check(received.getAndIncrement(), record, seenEmails))
+                .onErrorResume(DecodingException.class, ex -> Mono.just(Outcome.failed(new RecordError(received.get(),
+                        null, List.of("Malformed record, batch stopped here")))))
+                .flatMap(outcome -> outcome.record() == null ? Mono.just(outcome) : register(outcome), concurrency)
+                .collectList()
+                .map(outcomes -> new BatchRegistrationResultDTO(
+                        received.get(),
+                        (int) outcomes.stream().filter(outcome -> outcome.error() == null).count(),
+                        outcomes.stream()
+                                .map(Outcome::error)
+                                .filter(error -> error != null)
+                                .sorted(Comparator.comparingInt(RecordError::index))
+                                .toList()));
+    }
+
+    /*
+    * Runs in decoding order, so the duplicate check sees the records in the
+    * order they were sent.
+    */
+    private Outcome check(int index, UserRequestBodyDTO record, HashSet<String> seenEmails) {
+        var violations = validator.validate(record);
+
+        if(!violations.isEmpty())
+            return Outcome.failed(new RecordError(index, record.username(),
+                    violations.stream().map(ConstraintViolation::getMessage).toList()));
+
+        if(!seenEmails.add(record.username()))
+            return Outcome.failed(new RecordError(index, record.username(),
+                    List.of("%s duplicated in batch.".formatted(record.username()))));
+
+        return new Outcome(index, record, null);
+    }
+
+    private Mono<Outcome> register(Outcome pending) {
+        var record = pending.record();
+
+        return userService.registerUser(new User(record.username(), record.password()))
+                .thenReturn(new Outcome(pending.index(), null, null))
+                .onErrorResume(ex -> ex instanceof UserAlreadyRegisteredException
+                                || ex instanceof PasswordHashingRejectedException,
+                        ex -> Mono.just(Outcome.failed(
+                                new RecordError(pending.index(), record.username(), List.of(ex.getMessage())))));
+    }
+
+    private record Outcome(int index, UserRequestBodyDTO record, RecordError error) {
+
+        static Outcome failed(RecordError error) {
+            return new Outcome(error.index(), null, error);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.devlukas.basicauthenticationreactive.service;
+
+import br.com.devlukas.basicauthenticationreactive.domain.User;
+import br.com.devlukas.basicauthenticationreactive.repository.UserRepository;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingScheduler;
+import br.com.devlukas.basicauthenticationreactive.service.exceptions.UserAlreadyRegisteredException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+
+    private final PasswordHashingScheduler passwordHashing;
+
+    public UserService(UserRepository userRepository, PasswordHashingScheduler passwordHashing) {
+        this.userRepository = userRepository;
+        this.passwordHashing = passwordHashing;
+    }
+
+    /*
+    * No existence query first: R2DBC reports a taken email as
+    * DuplicateKeyException from the unique constraint, even when two
+    * signups of it race.
+    */
+    public Mono<Void> registerUser(User user) {
+        return passwordHashing.encode(user.getPassword())
+                .flatMap(encodedPassword -> {
+                    user.setPassword(encodedPassword);
+                    return userRepository.save(user);
+                })
+                .onErrorMap(DuplicateKeyException.class, ex -> new UserAlreadyRegisteredException(
+                        "%s already registered.".formatted(user.getEmail())))
+                .then();
+    }
+}
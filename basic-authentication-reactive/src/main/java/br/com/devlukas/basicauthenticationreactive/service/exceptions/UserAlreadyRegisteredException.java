@@ -0,0 +1,7 @@
+package br.com.devlukas.basicauthenticationreactive.service.exceptions;
+
+public class UserAlreadyRegisteredException extends RuntimeException {
+    public UserAlreadyRegisteredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+CREATE TABLE users_ (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+   email VARCHAR(255) NOT NULL,
+   password VARCHAR(255) NOT NULL,
+   CONSTRAINT pk_users_ PRIMARY KEY (id)
+);
+
+ALTER TABLE users_ ADD CONSTRAINT uc_users__email UNIQUE (email);
\ No newline at end of file
@@ -0,0 +1,166 @@
+package br.com.devlukas.basicauthenticationreactive.controller;
+
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthenticationreactive.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthenticationreactive.handler.ExceptionDetailsBody;
+import br.com.devlukas.basicauthenticationreactive.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+@ActiveProfiles("test")
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BasicAuthnControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final UserRequestBodyDTO VALID_USER =
+            new UserRequestBodyDTO("valid_user_email@email.com", "Valid_password_1*");
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    public void singUp_shouldReturnSuccessfulRegistrationMessage_whenValidUserParamsAreProvided() {
+        webTestClient.post().uri(BASE_URL + "/singup")
+                .bodyValue(VALID_USER)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CREATED)
+                .expectBody(String.class)
+                .isEqualTo("User %s successfully registered!".formatted(VALID_USER.username()));
+    }
+
+    @Test
+    public void singUp_shouldReturnStatusCode400_whenInvalidParamsAreProvided() {
+        var exceptionBody = webTestClient.post().uri(BASE_URL + "/singup")
+                .bodyValue(new UserRequestBodyDTO("invalid_email", "invalid_password"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ExceptionDetailsBody.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(exceptionBody.path()).isEqualTo(BASE_URL + "/singup");
+        Assertions.assertThat(exceptionBody.messages())
+                .containsExactlyInAnyOrder("Password requires at least 8 characters, with numbers, upper and lower case letters and special characters",
+                        "Provide a valid email");
+        Assertions.assertThat(exceptionBody.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        Assertions.assertThat(exceptionBody.localDateTime()).isNotNull();
+    }
+
+    @Test
+    public void singUp_shouldReturnStatusCode400_whenUserIsAlreadyRegistered() {
+        signUp(VALID_USER);
+
+        var exceptionBody = webTestClient.post().uri(BASE_URL + "/singup")
+                .bodyValue(VALID_USER)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ExceptionDetailsBody.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(exceptionBody.messages())
+                .isEqualTo(List.of("%s already registered.".formatted(VALID_USER.username())));
+        Assertions.assertThat(exceptionBody.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnPrivateMessage_whenCredentialsAreValid() {
+        signUp(VALID_USER);
+
+        webTestClient.get().uri(BASE_URL)
+                .headers(headers -> headers.setBasicAuth(VALID_USER.username(), VALID_USER.password()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .isEqualTo("Private message only for athenticated users.");
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnStatusCode401_whenPasswordIsWrong() {
+        signUp(VALID_USER);
+
+        var exceptionBody = webTestClient.get().uri(BASE_URL)
+                .headers(headers -> headers.setBasicAuth(VALID_USER.username(), "Wrong_password_1*"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().exists("WWW-Authenticate")
+                .expectBody(ExceptionDetailsBody.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(exceptionBody.path()).isEqualTo(BASE_URL);
+        Assertions.assertThat(exceptionBody.messages()).isEqualTo(List.of("Email or password is incorrect"));
+        Assertions.assertThat(exceptionBody.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnStatusCode401_whenUserIsUnknown() {
+        webTestClient.get().uri(BASE_URL)
+                .headers(headers -> headers.setBasicAuth("unknown_user@email.com", "Valid_password_1*"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnStatusCode403_whenCredentialsAreMissing() {
+        var exceptionBody = webTestClient.get().uri(BASE_URL)
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ExceptionDetailsBody.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(exceptionBody.messages())
+                .isEqualTo(List.of("Full authentication is required to access this resource"));
+        Assertions.assertThat(exceptionBody.statusCode()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test
+    public void singUpBatch_shouldReportInvalidAndDuplicatedRecords_whenNdjsonIsPosted() {
+        signUp(VALID_USER);
+
+        var body = """
+                {"username":"batch_user_1@email.com","password":"Valid_password_1*"}
+                {"username":"invalid_email","password":"Valid_password_1*"}
+                {"username":"batch_user_1@email.com","password":"Valid_password_1*"}
+                {"username":"valid_user_email@email.com","password":"Valid_password_1*"}
+                """;
+
+        var result = webTestClient.post().uri(BASE_URL + "/singup/batch")
+                .headers(headers -> headers.setBasicAuth(VALID_USER.username(), VALID_USER.password()))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BatchRegistrationResultDTO.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(result.received()).isEqualTo(4);
+        Assertions.assertThat(result.registered()).isEqualTo(1);
+        Assertions.assertThat(result.errors()).extracting(BatchRegistrationResultDTO.RecordError::index)
+                .containsExactly(1, 2, 3);
+    }
+
+    private void signUp(UserRequestBodyDTO user) {
+        webTestClient.post().uri(BASE_URL + "/singup")
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.devlukas.basicauthenticationreactive.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TimingSafeAuthenticationManagerTest {
+
+    private final RecordingPasswordEncoder passwordEncoder = new RecordingPasswordEncoder();
+
+    private final TimingSafeAuthenticationManager manager = new TimingSafeAuthenticationManager(
+            new MapReactiveUserDetailsService(User.withUsername("valid_user_email@email.com")
+                    .password("Valid_password_1*")
+                    .build()),
+            passwordEncoder,
+            Schedulers.immediate());
+
+    @Test
+    public void authenticate_shouldCheckPasswordAgainstDummyHash_whenEmailIsUnknown() {
+        StepVerifier.create(manager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated("unknown_user@email.com", "Valid_password_1*")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        Assertions.assertThat(passwordEncoder.checkedHashes).hasSize(1)
+                .allSatisfy(hash -> Assertions.assertThat(hash).isNotEqualTo("Valid_password_1*"));
+    }
+
+    @Test
+    public void authenticate_shouldCheckStoredHashOnly_whenEmailIsKnown() {
+        StepVerifier.create(manager.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated("valid_user_email@email.com", "Wrong_password_1*")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        Assertions.assertThat(passwordEncoder.checkedHashes).containsExactly("Valid_password_1*");
+    }
+
+    /*
+    * Plain text, so the stored hash is the password itself.
+    */
+    private static class RecordingPasswordEncoder implements PasswordEncoder {
+
+        private final List<String> checkedHashes = new ArrayList<>();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "dummy:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            checkedHashes.add(encodedPassword);
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
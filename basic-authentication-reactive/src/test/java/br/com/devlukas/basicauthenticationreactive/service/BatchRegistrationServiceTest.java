@@ -0,0 +1,48 @@
+package br.com.devlukas.basicauthenticationreactive.service;
+
+import br.com.devlukas.basicauthenticationreactive.domain.User;
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthenticationreactive.dto.BatchRegistrationResultDTO.RecordError;
+import br.com.devlukas.basicauthenticationreactive.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingProperties;
+import br.com.devlukas.basicauthenticationreactive.security.hashing.PasswordHashingRejectedException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class BatchRegistrationServiceTest {
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    /*
+    * Hashing is saturated for every email starting with "busy".
+    */
+    private final UserService userService = new UserService(null, null) {
+        @Override
+        public Mono<Void> registerUser(User user) {
+            if(user.getEmail().startsWith("busy"))
+                return Mono.error(new PasswordHashingRejectedException("Server is busy, try again later"));
+            return Mono.empty();
+        }
+    };
+
+    private final BatchRegistrationService service = new BatchRegistrationService(userService,
+            Validation.buildDefaultValidatorFactory().getValidator(), new PasswordHashingProperties(1, 1, 4));
+
+    @Test
+    public void registerUsers_shouldReportRecordAndGoOn_whenItsHashingIsRejected() {
+        var records = Flux.just(
+                new UserRequestBodyDTO("before@email.com", PASSWORD),
+                new UserRequestBodyDTO("busy@email.com", PASSWORD),
+                new UserRequestBodyDTO("after@email.com", PASSWORD));
+
+        StepVerifier.create(service.registerUsers(records))
+                .expectNext(new BatchRegistrationResultDTO(3, 2, List.of(
+                        new RecordError(1, "busy@email.com", List.of("Server is busy, try again later")))))
+                .verifyComplete();
+    }
+}
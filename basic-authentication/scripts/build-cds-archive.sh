@@ -0,0 +1,47 @@
+#!/usr/bin/env sh
+#
+# Builds an AppCDS archive for the JVM build in target/cds.
+#
+# CDS only archives classes loaded from plain jar files, so the exec jar is
+# unpacked into application.jar plus its libraries. A training run then
+# starts the context, exits right after the refresh and dumps every loaded
+# class. Arguments are passed to the training run, which should use the same
+# profiles as the nodes:
+#
+#   ./scripts/build-cds-archive.sh --spring.profiles.active=fast-start
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -jar target/cds/application.jar
+#
+# The archive is only valid for the JVM and the jars it was created with.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+JAR=$(ls target/basic-authentication-*-exec.jar 2>/dev/null | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  ./mvnw -B -q -DskipTests package
+  JAR=$(ls target/basic-authentication-*-exec.jar | head -n 1)
+fi
+
+OUT=target/cds
+rm -rf "$OUT"
+mkdir -p "$OUT/exploded" "$OUT/lib"
+
+(cd "$OUT/exploded" && jar -xf "../../../$JAR")
+cp "$OUT"/exploded/BOOT-INF/lib/*.jar "$OUT/lib/"
+
+# manifest lines are limited to 72 bytes, one continuation line per library
+{
+  echo "Main-Class: br.com.devlukas.basicauthentication.BasicAuthenticationApplication"
+  prefix="Class-Path:"
+  for lib in "$OUT"/lib/*.jar; do
+    echo "$prefix lib/$(basename "$lib")"
+    prefix=" "
+  done
+} > "$OUT/MANIFEST.MF"
+
+jar --create --file "$OUT/application.jar" --manifest "$OUT/MANIFEST.MF" -C "$OUT/exploded/BOOT-INF/classes" .
+rm -rf "$OUT/exploded" "$OUT/MANIFEST.MF"
+
+cd "$OUT"
+java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh -jar application.jar "$@"
+echo "CDS archive written to $OUT/application.jsa"
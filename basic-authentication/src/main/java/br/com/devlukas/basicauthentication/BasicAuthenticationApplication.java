@@ -2,8 +2,10 @@ package br.com.devlukas.basicauthentication;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(BasicAuthenticationRuntimeHints.class)
 public class BasicAuthenticationApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,43 @@
+package br.com.devlukas.basicauthentication;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthentication.dto.validation.PasswordPolicyValidator;
+import br.com.devlukas.basicauthentication.dto.validation.ValidPassword;
+import br.com.devlukas.basicauthentication.handler.ExceptionDetailsBody;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/*
+* Reachability metadata the AOT engine cannot infer on its own for the
+* native image: Flyway lists the migration scripts as classpath resources,
+* Jackson binds the error bodies and the batch signup records outside any
+* controller signature, Hibernate Validator instantiates the password
+* constraint reflectively and Hibernate reads the entity fields directly.
+*/
+public class BasicAuthenticationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("db/migration/*.sql");
+
+        bindingHints.registerReflectionHints(hints.reflection(),
+                ExceptionDetailsBody.class,
+                UserRequestBodyDTO.class,
+                BatchRegistrationResultDTO.class,
+                BatchRegistrationResultDTO.RecordError.class);
+
+        hints.reflection()
+                .registerType(ValidPassword.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(PasswordPolicyValidator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(User.class,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -1,20 +1,29 @@
 package br.com.devlukas.basicauthentication.controller;
 
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO;
 import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthentication.service.BatchRegistrationService;
 import br.com.devlukas.basicauthentication.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/v1/basic-authn")
 public class BasicAuthnController {
 
     private final UserService userService;
 
-    public BasicAuthnController(UserService userService) {
+    private final BatchRegistrationService batchRegistrationService;
+
+    public BasicAuthnController(UserService userService, BatchRegistrationService batchRegistrationService) {
         this.userService = userService;
+        this.batchRegistrationService = batchRegistrationService;
     }
 
 
@@ -25,6 +34,11 @@ public class BasicAuthnController {
                 .body("User %s successfully registered!".formatted(userRequestBodyDTO.username()));
     }
 
+    @PostMapping(path = "/singup/batch", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BatchRegistrationResultDTO> singUpBatch(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(batchRegistrationService.registerUsers(request.getInputStream()));
+    }
+
     @GetMapping
     public ResponseEntity<String> onlyAuthenticated() {
         return ResponseEntity.ok("Private message only for athenticated users.");
@@ -1,19 +1,20 @@
 package br.com.devlukas.basicauthentication.dto;
 
 import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.dto.validation.ValidPassword;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 public record UserRequestBodyDTO(
 
         @Email(message = "Provide a valid email")
         @NotBlank(message = "Username cannot be blank")
+        @Size(max = 254, message = "Username cannot be longer than 254 characters")
         String username,
 
-        @Pattern(regexp = "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+{}\\[\\]:;<>,.?~\\\\-]).{8,}$",
-        message = "Password requires at least 8 characters, with numbers, upper and lower case letters and special characters")
+        @ValidPassword
         String password) {
 
     public User toEntity() {
@@ -0,0 +1,89 @@
+package br.com.devlukas.basicauthentication.dto.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/*
+* Replaces the lookahead regex
+* ^(?=.*[A-Z])(?=.*[a-z])(?=.*\d)(?=.*[!@#$%^&*()_+{}\[\]:;<>,.?~\\-]).{8,}$
+* with a single scan that keeps its exact semantics (ASCII classes, length in
+* code points, line terminators rejected) and gives up as soon as the input
+* passes maxBytes, so the cost never depends on how long the input is.
+*/
+public class PasswordPolicyValidator implements ConstraintValidator<ValidPassword, String> {
+
+    private static final int MIN_LENGTH = 8;
+
+    private static final String SPECIAL_CHARACTERS = "!@#$%^&*()_+{}[]:;<>,.?~\\-";
+
+    private static final boolean[] SPECIAL = new boolean[128];
+
+    static {
+        for(int i = 0; i < SPECIAL_CHARACTERS.length(); i++)
+            SPECIAL[SPECIAL_CHARACTERS.charAt(i)] = true;
+    }
+
+    private int maxBytes;
+
+    private String tooLongMessage;
+
+    @Override
+    public void initialize(ValidPassword constraint) {
+        this.maxBytes = constraint.maxBytes();
+        this.tooLongMessage = constraint.tooLongMessage();
+    }
+
+    @Override
+    public boolean isValid(String password, ConstraintValidatorContext context) {
+        if(password == null)
+            return true;
+
+        var upper = false;
+        var lower = false;
+        var digit = false;
+        var special = false;
+        var codePoints = 0;
+        var bytes = 0;
+        var lineTerminator = false;
+
+        for(int i = 0; i < password.length(); i++) {
+            var c = password.charAt(i);
+
+            if(c < 0x80) {
+                bytes++;
+                if(c >= 'A' && c <= 'Z')
+                    upper = true;
+                else if(c >= 'a' && c <= 'z')
+                    lower = true;
+                else if(c >= '0' && c <= '9')
+                    digit = true;
+                else if(SPECIAL[c])
+                    special = true;
+                else if(c == '\n' || c == '\r')
+                    lineTerminator = true;
+            } else if(c < 0x800) {
+                bytes += 2;
+                if(c == '\u0085')
+                    lineTerminator = true;
+            } else if(Character.isHighSurrogate(c) && i + 1 < password.length()
+                    && Character.isLowSurrogate(password.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+                if(c == '\u2028' || c == '\u2029')
+                    lineTerminator = true;
+            }
+
+            codePoints++;
+
+            if(bytes > maxBytes) {
+                context.disableDefaultConstraintViolation();
+                context.buildConstraintViolationWithTemplate(tooLongMessage).addConstraintViolation();
+                return false;
+            }
+        }
+
+        return !lineTerminator && codePoints >= MIN_LENGTH && upper && lower && digit && special;
+    }
+}
@@ -1,8 +1,14 @@
 package br.com.devlukas.basicauthentication.handler;
 
+import br.com.devlukas.basicauthentication.security.hashing.PasswordHashingRejectedException;
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimitedException;
+import br.com.devlukas.basicauthentication.security.signup.PayloadTooLargeException;
+import br.com.devlukas.basicauthentication.service.exceptions.BatchTooLargeException;
+import br.com.devlukas.basicauthentication.service.exceptions.BreachedPasswordException;
 import br.com.devlukas.basicauthentication.service.exceptions.UserAlreadyRegisteredException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.*;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -52,6 +58,75 @@ public class ExceptionHandlerSource extends ResponseEntityExceptionHandler {
         ), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BreachedPasswordException.class)
+    public ResponseEntity<ExceptionDetailsBody> breachedPassword(BreachedPasswordException ex,
+                                                                 HttpServletRequest request) {
+
+        return new ResponseEntity<>(new ExceptionDetailsBody(
+                request.getRequestURI(),
+                List.of(ex.getMessage()),
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now()
+        ), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ExceptionDetailsBody> passwordHashingRejected(PasswordHashingRejectedException ex,
+                                                                        HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ExceptionDetailsBody(
+                        request.getRequestURI(),
+                        List.of(ex.getMessage()),
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler(LoginRateLimitedException.class)
+    public ResponseEntity<ExceptionDetailsBody> loginRateLimited(LoginRateLimitedException ex,
+                                                                 HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ExceptionDetailsBody(
+                        request.getRequestURI(),
+                        List.of(ex.getMessage()),
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler({PayloadTooLargeException.class, BatchTooLargeException.class})
+    public ResponseEntity<ExceptionDetailsBody> payloadTooLarge(Exception ex,
+                                                                HttpServletRequest request) {
+
+        return new ResponseEntity<>(new ExceptionDetailsBody(
+                request.getRequestURI(),
+                List.of(ex.getMessage()),
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                LocalDateTime.now()
+        ), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex,
+                                                                  HttpHeaders headers,
+                                                                  HttpStatusCode status,
+                                                                  WebRequest request) {
+
+        if(ex.getCause() instanceof PayloadTooLargeException tooLarge)
+            return new ResponseEntity<>(new ExceptionDetailsBody(
+                    ((ServletWebRequest)request).getRequest().getRequestURI(),
+                    List.of(tooLarge.getMessage()),
+                    HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    LocalDateTime.now()
+            ), HttpStatus.PAYLOAD_TOO_LARGE);
+
+        return super.handleHttpMessageNotReadable(ex, headers, status, request);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                   HttpHeaders headers,
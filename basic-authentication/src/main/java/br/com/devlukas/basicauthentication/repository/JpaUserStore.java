@@ -0,0 +1,76 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.datasource.RecentWrites;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class JpaUserStore implements UserStore {
+
+    private final UserRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final RecentWrites recentWrites;
+
+    public JpaUserStore(UserRepository repository, TransactionTemplate transactionTemplate, RecentWrites recentWrites) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.recentWrites = recentWrites;
+    }
+
+    /*
+    * With a replica, a miss or a recently written email is read again from
+    * the primary: the replica may not have the signup or the new password
+    * yet, and callers cache both what they find and what they miss.
+    */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if(recentWrites == null)
+            return repository.findByEmail(email);
+
+        if(!recentWrites.contains(email)) {
+            var user = repository.findByEmail(email);
+            if(user.isPresent())
+                return user;
+        }
+
+        return findByEmailOnPrimary(email);
+    }
+
+    /*
+    * findByEmail joins this read-write transaction instead of starting a
+    * read-only one, so the routing DataSource picks the primary.
+    */
+    private Optional<User> findByEmailOnPrimary(String email) {
+        return transactionTemplate.execute(status -> repository.findByEmail(email));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return repository.findExistingEmails(emails);
+    }
+
+    @Override
+    public User insert(User user) {
+        return repository.saveAndFlush(user);
+    }
+
+    @Override
+    public List<User> insertAll(List<User> users) {
+        return transactionTemplate.execute(status -> {
+            var saved = repository.saveAll(users);
+            repository.flush();
+            return saved;
+        });
+    }
+
+    @Override
+    public int updatePassword(String email, String encodedPassword) {
+        return repository.updatePassword(email, encodedPassword);
+    }
+}
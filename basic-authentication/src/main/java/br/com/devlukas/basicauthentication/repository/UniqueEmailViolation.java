@@ -0,0 +1,36 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/*
+* Tells whether an insert failed on the uc_users__email unique constraint
+* from V1__create_users_table.sql, so callers can skip the pre-check query.
+* Any other unique violation, such as a primary key collision, is not a
+* duplicate email and must surface as the error it is.
+*/
+public final class UniqueEmailViolation {
+
+    public static final String CONSTRAINT_NAME = "uc_users__email";
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private UniqueEmailViolation() {
+    }
+
+    public static boolean isCauseOf(DataIntegrityViolationException ex) {
+        for(Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null)
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(CONSTRAINT_NAME);
+
+            if(cause instanceof SQLException sqlException && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState()))
+                return sqlException.getMessage() != null
+                        && sqlException.getMessage().toLowerCase(Locale.ROOT).contains(CONSTRAINT_NAME);
+        }
+
+        return false;
+    }
+}
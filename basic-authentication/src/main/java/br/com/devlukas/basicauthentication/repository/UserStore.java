@@ -0,0 +1,26 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import br.com.devlukas.basicauthentication.domain.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+* Credential storage used by the authentication and registration paths.
+* Inserts throw DataIntegrityViolationException when the email is taken;
+* updatePassword returns the number of users it changed, 0 or 1.
+*/
+public interface UserStore {
+
+    Optional<User> findByEmail(String email);
+
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    User insert(User user);
+
+    List<User> insertAll(List<User> users);
+
+    int updatePassword(String email, String encodedPassword);
+}
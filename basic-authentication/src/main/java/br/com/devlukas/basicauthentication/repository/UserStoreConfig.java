@@ -0,0 +1,46 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import br.com.devlukas.basicauthentication.repository.datasource.RecentWrites;
+import br.com.devlukas.basicauthentication.repository.memory.InMemoryUserStore;
+import br.com.devlukas.basicauthentication.repository.shard.ShardedUserStore;
+import br.com.devlukas.basicauthentication.repository.shard.UserShards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(UserStoreProperties.class)
+public class UserStoreConfig {
+
+    @Bean
+    public UserStore userStore(UserStoreProperties properties,
+                               UserRepository repository,
+                               TransactionTemplate transactionTemplate,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectProvider<UserShards> userShards,
+                               ObjectProvider<RecentWrites> recentWrites) {
+        var jpaUserStore = new JpaUserStore(repository, transactionTemplate, recentWrites.getIfAvailable());
+
+        return switch (properties.type()) {
+            case JPA -> jpaUserStore;
+            case IN_MEMORY -> new InMemoryUserStore(jpaUserStore, jdbcTemplate);
+            case SHARDED -> new ShardedUserStore(userShards.getObject().shards(),
+                    userShards.getObject().previousShardCount());
+        };
+    }
+
+    /*
+    * The in-memory store loads every user when it is created; with lazy
+    * initialization that load would otherwise land on the first login.
+    */
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.user-store", name = "type", havingValue = "in_memory")
+    public static LazyInitializationExcludeFilter eagerUserStore() {
+        return (beanName, beanDefinition, beanType) -> "userStore".equals(beanName);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "basic-authn.user-store")
+public record UserStoreProperties(@DefaultValue("jpa") Type type) {
+
+    public enum Type {
+        JPA,
+        IN_MEMORY,
+        SHARDED
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/*
+* V2 created users_id_seq starting at 1, but rows inserted before it got
+* their ids from the IDENTITY column of V1. This moves the sequence past
+* them. Hibernate's pooled optimizer reads each sequence value as the top
+* of a block of ID_ALLOCATION_SIZE ids, so the next value must be the
+* current maximum plus a whole block for the first id to be max + 1.
+*
+* A Java migration because the restart value has to be computed; it is
+* a bean so Flyway's auto-configuration also finds it in the native image.
+*/
+@Component
+public class UsersIdSequenceMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "restart users id sequence";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        long maxId;
+
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("select max(id) from users_")) {
+            resultSet.next();
+            maxId = resultSet.getLong(1);
+            if(resultSet.wasNull())
+                return;
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("alter sequence users_id_seq restart with " + (maxId + User.ID_ALLOCATION_SIZE));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.devlukas.basicauthentication.repository.datasource;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.invalidation.RemoteCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+/*
+* Emails written here or on another node within the replica's max lag. The
+* replica may still hold their old credentials, so reads of them go to the
+* primary. The listeners run first so that caches evicted by the same event
+* already reload from the primary.
+*/
+public class RecentWrites {
+
+    private final Cache<String, Boolean> emails;
+
+    public RecentWrites(Duration maxLag) {
+        this.emails = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    public boolean contains(String email) {
+        return emails.getIfPresent(email) != null;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        emails.put(event.email(), Boolean.TRUE);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRemoteCredentialsChanged(RemoteCredentialsChangedEvent event) {
+        event.emails().forEach(email -> emails.put(email, Boolean.TRUE));
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.devlukas.basicauthentication.repository.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+* Connection settings of the read replica; spring.datasource stays the
+* primary. Pool settings go under basic-authn.datasource.replica.hikari.
+* max-lag bounds how far the replica may be behind the primary.
+*/
+@ConfigurationProperties(prefix = "basic-authn.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("5s") Duration maxLag
+) {
+}
@@ -0,0 +1,129 @@
+package br.com.devlukas.basicauthentication.repository.memory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+* Open-addressing (linear probing) map from email to password hash bytes,
+* kept in three parallel arrays instead of one node object per entry.
+*
+* Reads take no lock: a slot's hash and value are written before its key is
+* published with release semantics, and a resize builds a new table that is
+* published through the volatile field. Writers are serialized by a
+* ReentrantLock rather than synchronized so virtual threads are never pinned.
+* Entries are never removed, matching the users_ table.
+*/
+final class EmailHashIndex {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(String[].class);
+
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(byte[][].class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    byte[] get(String email) {
+        var current = table;
+        var hash = hash(email);
+        var index = hash & current.mask;
+
+        while(true) {
+            var key = (String) KEYS.getAcquire(current.keys, index);
+
+            if(key == null)
+                return null;
+
+            if(current.hashes[index] == hash && key.equals(email))
+                return (byte[]) VALUES.getAcquire(current.values, index);
+
+            index = (index + 1) & current.mask;
+        }
+    }
+
+    boolean contains(String email) {
+        return get(email) != null;
+    }
+
+    void put(String email, byte[] value) {
+        writeLock.lock();
+        try {
+            var current = table;
+
+            if((current.size + 1) * 2 > current.keys.length) {
+                current = current.resize();
+                table = current;
+            }
+
+            current.put(email, hash(email), value);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int size() {
+        return table.size;
+    }
+
+    private static int hash(String email) {
+        var hash = email.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Table {
+
+        private final int[] hashes;
+
+        private final String[] keys;
+
+        private final byte[][] values;
+
+        private final int mask;
+
+        private int size;
+
+        private Table(int capacity) {
+            this.hashes = new int[capacity];
+            this.keys = new String[capacity];
+            this.values = new byte[capacity][];
+            this.mask = capacity - 1;
+        }
+
+        private void put(String email, int hash, byte[] value) {
+            var index = hash & mask;
+
+            while(true) {
+                var key = keys[index];
+
+                if(key == null) {
+                    hashes[index] = hash;
+                    values[index] = value;
+                    KEYS.setRelease(keys, index, email);
+                    size++;
+                    return;
+                }
+
+                if(hashes[index] == hash && key.equals(email)) {
+                    VALUES.setRelease(values, index, value);
+                    return;
+                }
+
+                index = (index + 1) & mask;
+            }
+        }
+
+        private Table resize() {
+            var resized = new Table(keys.length * 2);
+
+            for(int i = 0; i < keys.length; i++) {
+                if(keys[i] != null)
+                    resized.put(keys[i], hashes[i], values[i]);
+            }
+
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.devlukas.basicauthentication.repository.memory;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.JpaUserStore;
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import br.com.devlukas.basicauthentication.service.invalidation.RemoteCredentialsChangedEvent;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+* Serves every read from an in-memory index and writes through to the
+* database via JpaUserStore, updating the index only after the write succeeded.
+* The index is loaded once at startup with plain JDBC, skipping entity hydration.
+*/
+public class InMemoryUserStore implements UserStore, InitializingBean {
+
+    private final JpaUserStore database;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EmailHashIndex index = new EmailHashIndex();
+
+    public InMemoryUserStore(JpaUserStore database, JdbcTemplate jdbcTemplate) {
+        this.database = database;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.query("select email, password from users_",
+                rs -> { index.put(rs.getString(1), encode(rs.getString(2))); });
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        var password = index.get(email);
+
+        if(password == null)
+            return Optional.empty();
+
+        return Optional.of(new User(email, new String(password, StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        var existing = new HashSet<String>();
+
+        for(var email : emails) {
+            if(index.contains(email))
+                existing.add(email);
+        }
+
+        return existing;
+    }
+
+    @Override
+    public User insert(User user) {
+        var saved = database.insert(user);
+        index.put(saved.getEmail(), encode(saved.getPassword()));
+        return saved;
+    }
+
+    @Override
+    public List<User> insertAll(List<User> users) {
+        var saved = database.insertAll(users);
+        saved.forEach(user -> index.put(user.getEmail(), encode(user.getPassword())));
+        return saved;
+    }
+
+    @Override
+    public int updatePassword(String email, String encodedPassword) {
+        var updated = database.updatePassword(email, encodedPassword);
+        if(updated > 0)
+            index.put(email, encode(encodedPassword));
+        return updated;
+    }
+
+    /*
+    * Another node wrote these emails; reload them from the database.
+    */
+    @EventListener
+    public void onRemoteCredentialsChanged(RemoteCredentialsChangedEvent event) {
+        for(var email : event.emails()) {
+            database.findByEmail(email)
+                    .ifPresent(user -> index.put(user.getEmail(), encode(user.getPassword())));
+        }
+    }
+
+    private static byte[] encode(String encodedPassword) {
+        return encodedPassword.getBytes(StandardCharsets.UTF_8);
+    }
+}
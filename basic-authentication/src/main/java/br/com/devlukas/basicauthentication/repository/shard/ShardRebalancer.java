@@ -0,0 +1,108 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+/*
+* Moves every user that does not sit on the shard its email routes to now,
+* after shards were appended. Shards are scanned in id order, batchSize
+* rows at a time. Each user moves in a transaction on the source shard that
+* locks the row, copies it to the target shard and only then deletes it, so
+* a run that stops half way loses nobody; the next run finds the copy
+* already there and just deletes the source row.
+*
+* While the row is locked a password change waits; once the copy exists it
+* goes to the target shard, see ShardedUserStore.updatePassword. Either way
+* the copy is never older than the source row it replaces.
+*
+* Run it with basic-authn.user-store.sharding.previous-shard-count set, so
+* the application keeps finding users that have not been moved yet.
+*/
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2),
+            rs.getString(3));
+
+    private final List<UserShard> shards;
+
+    private final int batchSize;
+
+    public ShardRebalancer(List<UserShard> shards, int batchSize) {
+        this.shards = shards;
+        this.batchSize = batchSize;
+    }
+
+    public Result rebalance() {
+        var scanned = 0L;
+        var moved = 0L;
+
+        for(var source : shards) {
+            var lastId = Long.MIN_VALUE;
+
+            while(true) {
+                var rows = source.jdbcTemplate().query(
+                        "select id, email, password from users_ where id > ? order by id limit ?",
+                        ROW_MAPPER, lastId, batchSize);
+
+                if(rows.isEmpty())
+                    break;
+
+                lastId = rows.get(rows.size() - 1).id();
+                scanned += rows.size();
+
+                for(var row : rows) {
+                    var target = ShardRouter.shardFor(row.email(), shards.size());
+                    if(target != source.index() && move(source, shards.get(target), row.id()))
+                        moved++;
+                }
+            }
+
+            log.info("Shard {} rebalanced, {} users scanned and {} moved so far", source.index(), scanned, moved);
+        }
+
+        return new Result(scanned, moved);
+    }
+
+    /*
+    * The row is read again under the lock, so the copy carries the latest
+    * password. False when the user was deleted since the scan.
+    */
+    private static boolean move(UserShard source, UserShard target, long id) {
+        return Boolean.TRUE.equals(source.transactionTemplate().execute(status -> {
+            var rows = source.jdbcTemplate().query("select id, email, password from users_ where id = ? for update",
+                    ROW_MAPPER, id);
+
+            if(rows.isEmpty())
+                return false;
+
+            copy(rows.get(0), target);
+            source.jdbcTemplate().update("delete from users_ where id = ?", id);
+            return true;
+        }));
+    }
+
+    /*
+    * A copy left by an interrupted run is kept; it took every password
+    * change made since, and the source row is deleted by the caller.
+    */
+    private static void copy(Row row, UserShard target) {
+        try {
+            target.jdbcTemplate().update("insert into users_ (email, password) values (?, ?)",
+                    row.email(), row.password());
+        } catch (DuplicateKeyException ex) {
+            log.debug("{} already on shard {}", row.email(), target.index());
+        }
+    }
+
+    public record Result(long scanned, long moved) {
+    }
+
+    private record Row(long id, String email, String password) {
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+* Maps an email to a shard with jump consistent hashing (Lamping and Veach)
+* over a 64-bit FNV-1a hash of its UTF-8 bytes. Both are fixed by their
+* definition, unlike String.hashCode they are spread over 64 bits, and
+* growing from n to n + 1 shards moves only the emails that now belong to
+* the new shard, about 1 / (n + 1) of them.
+*/
+public final class ShardRouter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ShardRouter() {
+    }
+
+    public static int shardFor(String email, int shards) {
+        return jumpConsistentHash(hash(email), shards);
+    }
+
+    static long hash(String email) {
+        var hash = FNV_OFFSET_BASIS;
+        for(var b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+
+        /*
+        * FNV-1a leaves the high bits poorly mixed for short keys, and jump
+        * hashing draws on them; finish with the splitmix64 mixer.
+        */
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    static int jumpConsistentHash(long key, int buckets) {
+        if(buckets <= 0)
+            throw new IllegalArgumentException("At least one shard is required, got " + buckets);
+
+        long bucket = -1;
+        long next = 0;
+
+        while(next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UniqueEmailViolation;
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/*
+* Spreads users_ over several databases by a stable hash of the email, see
+* ShardRouter. Every statement touches the single shard an email routes to,
+* except the batch operations, which group their emails by shard and run
+* one statement per shard.
+*/
+public class ShardedUserStore implements UserStore {
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    private static final RowMapper<User> USER_MAPPER = (rs, rowNum) -> new User(rs.getString(1), rs.getString(2));
+
+    private final List<UserShard> shards;
+
+    private final Integer previousShardCount;
+
+    public ShardedUserStore(List<UserShard> shards, Integer previousShardCount) {
+        if(shards.isEmpty())
+            throw new IllegalArgumentException("At least one shard is required");
+        if(previousShardCount != null && (previousShardCount < 1 || previousShardCount > shards.size()))
+            throw new IllegalArgumentException("Previous shard count must be between 1 and %d, got %d"
+                    .formatted(shards.size(), previousShardCount));
+
+        this.shards = List.copyOf(shards);
+        this.previousShardCount = previousShardCount;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        var user = find(shardFor(email), email);
+
+        if(user.isEmpty() && isRebalancing()) {
+            var previous = previousShardFor(email);
+            if(previous != shardFor(email))
+                return find(previous, email);
+        }
+
+        return user;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        var existing = new HashSet<String>();
+
+        for(var group : groupByShard(emails, this::shardFor).entrySet())
+            existing.addAll(findExisting(group.getKey(), group.getValue()));
+
+        if(isRebalancing()) {
+            var missing = emails.stream().filter(email -> !existing.contains(email)).toList();
+            for(var group : groupByShard(missing, this::previousShardFor).entrySet())
+                existing.addAll(findExisting(group.getKey(), group.getValue()));
+        }
+
+        return existing;
+    }
+
+    @Override
+    public User insert(User user) {
+        checkNotOnPreviousShard(List.of(user));
+
+        shardFor(user.getEmail()).jdbcTemplate().update("insert into users_ (email, password) values (?, ?)",
+                user.getEmail(), user.getPassword());
+        return user;
+    }
+
+    /*
+    * Each shard commits its part on its own. When a later shard fails, the
+    * rows already committed on earlier shards are deleted again, so callers
+    * still see all or nothing.
+    */
+    @Override
+    public List<User> insertAll(List<User> users) {
+        checkNotOnPreviousShard(users);
+
+        var committed = new ArrayList<Map.Entry<UserShard, List<User>>>();
+
+        try {
+            for(var group : groupByShard(users, user -> shardFor(user.getEmail())).entrySet()) {
+                var shard = group.getKey();
+                var shardUsers = group.getValue();
+                shard.transactionTemplate().executeWithoutResult(status -> shard.jdbcTemplate().batchUpdate(
+                        "insert into users_ (email, password) values (?, ?)",
+                        shardUsers.stream().map(user -> new Object[]{user.getEmail(), user.getPassword()}).toList()));
+                committed.add(group);
+            }
+        } catch (RuntimeException ex) {
+            for(var group : committed)
+                delete(group.getKey(), group.getValue().stream().map(User::getEmail).toList());
+            throw ex;
+        }
+
+        return users;
+    }
+
+    /*
+    * While rebalancing, a user that is not on its shard yet is updated on
+    * the previous one. When ShardRebalancer moved it in the meantime, the
+    * copy is on the shard now and the update goes there.
+    */
+    @Override
+    public int updatePassword(String email, String encodedPassword) {
+        var updated = updatePassword(shardFor(email), email, encodedPassword);
+        if(updated > 0 || !isRebalancing())
+            return updated;
+
+        updated = updatePassword(previousShardFor(email), email, encodedPassword);
+        return updated > 0 ? updated : updatePassword(shardFor(email), email, encodedPassword);
+    }
+
+    public List<UserShard> shards() {
+        return shards;
+    }
+
+    UserShard shardFor(String email) {
+        return shards.get(ShardRouter.shardFor(email, shards.size()));
+    }
+
+    private UserShard previousShardFor(String email) {
+        return shards.get(ShardRouter.shardFor(email, previousShardCount));
+    }
+
+    private boolean isRebalancing() {
+        return previousShardCount != null && previousShardCount != shards.size();
+    }
+
+    /*
+    * The unique constraint only covers one shard; while users are moving,
+    * an email can still sit on the shard it routed to before.
+    */
+    private void checkNotOnPreviousShard(List<User> users) {
+        if(!isRebalancing())
+            return;
+
+        var moved = users.stream()
+                .map(User::getEmail)
+                .filter(email -> previousShardFor(email) != shardFor(email))
+                .toList();
+
+        for(var group : groupByShard(moved, this::previousShardFor).entrySet()) {
+            var existing = findExisting(group.getKey(), group.getValue());
+            if(!existing.isEmpty())
+                throw new DuplicateKeyException("Email already registered on shard " + group.getKey().index(),
+                        new SQLException("Duplicate email %s violates %s".formatted(existing.iterator().next(),
+                                UniqueEmailViolation.CONSTRAINT_NAME), UNIQUE_VIOLATION_SQL_STATE));
+        }
+    }
+
+    private static Optional<User> find(UserShard shard, String email) {
+        return shard.jdbcTemplate().query("select email, password from users_ where email = ?", USER_MAPPER, email)
+                .stream()
+                .findFirst();
+    }
+
+    private static int updatePassword(UserShard shard, String email, String encodedPassword) {
+        return shard.jdbcTemplate().update("update users_ set password = ? where email = ?", encodedPassword, email);
+    }
+
+    private static List<String> findExisting(UserShard shard, List<String> emails) {
+        return shard.namedParameterJdbcTemplate().queryForList("select email from users_ where email in (:emails)",
+                Map.of("emails", emails), String.class);
+    }
+
+    private static void delete(UserShard shard, List<String> emails) {
+        shard.namedParameterJdbcTemplate().update("delete from users_ where email in (:emails)",
+                Map.of("emails", emails));
+    }
+
+    /*
+    * Ordered by shard index so batches always visit shards in the same order.
+    */
+    private <T> Map<UserShard, List<T>> groupByShard(Collection<T> values, Function<T, UserShard> shardOf) {
+        var groups = new TreeMap<Integer, List<T>>();
+        for(var value : values)
+            groups.computeIfAbsent(shardOf.apply(value).index(), index -> new ArrayList<>()).add(value);
+
+        var byShard = new LinkedHashMap<UserShard, List<T>>();
+        groups.forEach((index, group) -> byShard.put(shards.get(index), group));
+        return byShard;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+
+/*
+* spring.datasource stays the primary database, for Flyway's own history
+* and the other tables; only users_ is sharded. Each shard gets its own
+* pool and the same migrations as the primary, applied at startup.
+*/
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "basic-authn.user-store", name = "type", havingValue = "sharded")
+public class ShardingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public UserShards userShards(ShardingProperties properties) {
+        if(properties.shards() == null || properties.shards().isEmpty())
+            throw new IllegalStateException("basic-authn.user-store.sharding.shards needs at least one shard");
+
+        var shards = new ArrayList<UserShard>();
+        var dataSources = new ArrayList<HikariDataSource>();
+
+        for(int i = 0; i < properties.shards().size(); i++) {
+            var shard = properties.shards().get(i);
+            var dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            dataSources.add(dataSource);
+
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            shards.add(UserShard.of(i, dataSource));
+        }
+
+        return new UserShards(shards, properties.previousShardCount(), dataSources);
+    }
+
+    /*
+    * Runs the rebalancer once the context is up, e.g. as a one-off process:
+    *
+    *   java -jar basic-authentication.jar --spring.main.web-application-type=none \
+    *       --basic-authn.user-store.sharding.rebalance=true
+    */
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.user-store.sharding", name = "rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(UserShards userShards, ShardingProperties properties) {
+        return args -> {
+            var result = new ShardRebalancer(userShards.shards(), properties.rebalanceBatchSize()).rebalance();
+            log.info("Rebalanced {} shards: {} users scanned, {} moved",
+                    userShards.shards().size(), result.scanned(), result.moved());
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/*
+* Used with basic-authn.user-store.type=sharded; the shard count is the
+* number of entries in shards, and their order is part of the routing, so
+* new shards are only ever appended.
+*
+* While users are being moved to appended shards, previousShardCount is
+* the count before the change: lookups that miss on the new location fall
+* back to the old one, and signups are checked against both. Unset it once
+* the rebalancer finished.
+*/
+@ConfigurationProperties(prefix = "basic-authn.user-store.sharding")
+public record ShardingProperties(
+        List<Shard> shards,
+        Integer previousShardCount,
+        @DefaultValue("false") boolean rebalance,
+        @DefaultValue("1000") int rebalanceBatchSize
+) {
+
+    public record Shard(String url, String username, String password) {
+    }
+}
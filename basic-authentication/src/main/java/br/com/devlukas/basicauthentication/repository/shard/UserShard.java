@@ -0,0 +1,25 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/*
+* One database holding the users_ rows whose emails route to index.
+*/
+public record UserShard(
+        int index,
+        JdbcTemplate jdbcTemplate,
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+        TransactionTemplate transactionTemplate
+) {
+
+    public static UserShard of(int index, DataSource dataSource) {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        return new UserShard(index, jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+
+/*
+* The shards in routing order, and the pools behind them, which are
+* closed with the context.
+*/
+public record UserShards(
+        List<UserShard> shards,
+        Integer previousShardCount,
+        List<HikariDataSource> dataSources
+) implements DisposableBean {
+
+    @Override
+    public void destroy() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.devlukas.basicauthentication.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/*
+* Writes the same 401/403 bodies as ExceptionHandlerSource straight to the
+* response, without handler dispatch or Jackson. The constant parts of the
+* JSON are encoded once and the timestamp is formatted at most once per
+* millisecond, so a failed login only allocates for the request path.
+*/
+public class AuthenticationFailureResponseWriter {
+
+    private static final byte[] PATH = ascii("{\"path\":\"");
+
+    private static final byte[] UNAUTHORIZED = ascii(
+            "\",\"messages\":[\"Email or password is incorrect\"],\"statusCode\":401,\"localDateTime\":\"");
+
+    private static final byte[] FORBIDDEN_MESSAGE = ascii("\",\"messages\":[\"");
+
+    private static final byte[] FORBIDDEN = ascii("\"],\"statusCode\":403,\"localDateTime\":\"");
+
+    private static final byte[] END = ascii("\"}");
+
+    private final Clock clock;
+
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, null);
+
+    public AuthenticationFailureResponseWriter(Clock clock) {
+        this.clock = clock;
+    }
+
+    public boolean supports(AuthenticationException ex) {
+        return ex instanceof BadCredentialsException
+                || ex instanceof UsernameNotFoundException
+                || ex instanceof InsufficientAuthenticationException;
+    }
+
+    public void write(HttpServletRequest request,
+                      HttpServletResponse response,
+                      AuthenticationException ex) throws IOException {
+
+        var path = jsonString(request.getRequestURI());
+        var timestamp = timestamp();
+        var forbidden = ex instanceof InsufficientAuthenticationException;
+        var message = forbidden ? jsonString(ex.getMessage()) : null;
+
+        var length = PATH.length + path.length + timestamp.length + END.length
+                + (forbidden ? FORBIDDEN_MESSAGE.length + message.length + FORBIDDEN.length : UNAUTHORIZED.length);
+
+        response.setStatus(forbidden ? HttpStatus.FORBIDDEN.value() : HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(length);
+
+        var out = response.getOutputStream();
+        out.write(PATH);
+        out.write(path);
+        if(forbidden) {
+            out.write(FORBIDDEN_MESSAGE);
+            out.write(message);
+            out.write(FORBIDDEN);
+        } else {
+            out.write(UNAUTHORIZED);
+        }
+        out.write(timestamp);
+        out.write(END);
+        out.flush();
+    }
+
+    private byte[] timestamp() {
+        var millis = clock.millis();
+        var current = timestamp;
+
+        if(current.millis() == millis)
+            return current.bytes();
+
+        var dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone());
+        var bytes = ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+        timestamp = new Timestamp(millis, bytes);
+        return bytes;
+    }
+
+    /*
+    * Same escaping as Jackson: quotes, backslashes and control characters,
+    * everything else as UTF-8.
+    */
+    private static byte[] jsonString(String value) {
+        if(value == null)
+            return new byte[0];
+
+        var plain = true;
+        for(int i = 0; i < value.length() && plain; i++) {
+            var c = value.charAt(i);
+            plain = c >= 0x20 && c < 0x80 && c != '"' && c != '\\';
+        }
+
+        if(plain)
+            return value.getBytes(StandardCharsets.US_ASCII);
+
+        var escaped = new StringBuilder(value.length() + 16);
+        for(int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                default -> {
+                    if(c < 0x20)
+                        escaped.append("\\u%04X".formatted((int) c));
+                    else
+                        escaped.append(c);
+                }
+            }
+        }
+        return escaped.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Timestamp(long millis, byte[] bytes) {
+    }
+}
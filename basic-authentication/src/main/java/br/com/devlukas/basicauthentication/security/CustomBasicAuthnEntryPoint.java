@@ -1,5 +1,8 @@
 package br.com.devlukas.basicauthentication.security;
 
+import br.com.devlukas.basicauthentication.security.metrics.AuthenticationFailureReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,6 +13,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Map;
 
 /*
 * Spring Security exceptions are throw before the controllers
@@ -21,8 +27,18 @@ public class CustomBasicAuthnEntryPoint implements AuthenticationEntryPoint {
 
     private final HandlerExceptionResolver resolver;
 
-    public CustomBasicAuthnEntryPoint(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+    private final AuthenticationFailureResponseWriter failureResponseWriter =
+            new AuthenticationFailureResponseWriter(Clock.systemDefaultZone());
+
+    private final Map<AuthenticationFailureReason, Counter> invocations = new EnumMap<>(AuthenticationFailureReason.class);
+
+    public CustomBasicAuthnEntryPoint(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+                                      MeterRegistry meterRegistry) {
         this.resolver = resolver;
+
+        for(var reason : AuthenticationFailureReason.values())
+            invocations.put(reason, Counter.builder("auth.entry-point.invocations").tag("reason", reason.tag())
+                    .register(meterRegistry));
     }
 
     @Override
@@ -30,7 +46,20 @@ public class CustomBasicAuthnEntryPoint implements AuthenticationEntryPoint {
                          HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
 
+        invocations.get(AuthenticationFailureReason.of(authException)).increment();
+
         response.addHeader("WWW-Authenticate", "Basic realm=\"Realm\"");
+
+        /*
+        * Bad credentials and missing authentication are the bulk of the
+        * failures, so they skip the resolver; the rest still goes through
+        * ExceptionHandlerSource.
+        */
+        if(failureResponseWriter.supports(authException)) {
+            failureResponseWriter.write(request, response, authException);
+            return;
+        }
+
         this.resolver.resolveException(request, response, null, authException);
 
     }
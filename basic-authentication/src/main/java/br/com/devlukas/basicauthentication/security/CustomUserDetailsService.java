@@ -1,7 +1,6 @@
 package br.com.devlukas.basicauthentication.security;
 
-import br.com.devlukas.basicauthentication.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import br.com.devlukas.basicauthentication.repository.UserStore;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,12 +8,15 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 public class CustomUserDetailsService implements UserDetailsService {
 
-    @Autowired
-    private UserRepository repository;
+    private final UserStore userStore;
+
+    public CustomUserDetailsService(UserStore userStore) {
+        this.userStore = userStore;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var user = repository.findByEmail(email)
+        var user = userStore.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found."));
 
         return User.builder()
@@ -1,19 +1,64 @@
 package br.com.devlukas.basicauthentication.security;
 
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import br.com.devlukas.basicauthentication.security.authorization.CompiledAuthorizationManager;
+import br.com.devlukas.basicauthentication.security.cache.CachingDaoAuthenticationProvider;
+import br.com.devlukas.basicauthentication.security.cache.CachingUserDetailsService;
+import br.com.devlukas.basicauthentication.security.cache.CredentialCacheProperties;
+import br.com.devlukas.basicauthentication.security.cache.UserDetailsCacheProperties;
+import br.com.devlukas.basicauthentication.security.cache.VerifiedCredentialCache;
+import br.com.devlukas.basicauthentication.security.hashing.OffloadingPasswordEncoder;
+import br.com.devlukas.basicauthentication.security.hashing.PasswordHashingExecutor;
+import br.com.devlukas.basicauthentication.security.hashing.PasswordHashingProperties;
+import br.com.devlukas.basicauthentication.security.metrics.InstrumentedAuthenticationProvider;
+import br.com.devlukas.basicauthentication.security.metrics.InstrumentedUserDetailsService;
+import br.com.devlukas.basicauthentication.security.password.AdaptivePasswordEncoderFactory;
+import br.com.devlukas.basicauthentication.security.password.PasswordEncoderProperties;
+import br.com.devlukas.basicauthentication.security.password.PersistingPasswordUpgrader;
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimitFilter;
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimitProperties;
+import br.com.devlukas.basicauthentication.security.ratelimit.LoginRateLimiter;
+import br.com.devlukas.basicauthentication.security.signup.SignupPayloadLimitFilter;
+import br.com.devlukas.basicauthentication.security.signup.SignupProperties;
+import br.com.devlukas.basicauthentication.security.token.SessionTokenAuthenticationFilter;
+import br.com.devlukas.basicauthentication.security.token.SessionTokenIssuingFilter;
+import br.com.devlukas.basicauthentication.security.token.SessionTokenProperties;
+import br.com.devlukas.basicauthentication.security.token.SessionTokenService;
+import br.com.devlukas.basicauthentication.service.BatchRegistrationProperties;
+import br.com.devlukas.basicauthentication.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Clock;
 
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({CredentialCacheProperties.class, UserDetailsCacheProperties.class,
+        PasswordHashingProperties.class, PasswordEncoderProperties.class, SessionTokenProperties.class,
+        LoginRateLimitProperties.class, SignupProperties.class, BatchRegistrationProperties.class})
 public class SecurityConfig {
 
     private final CustomBasicAuthnEntryPoint customBasicAuthnEntryPoint;
@@ -25,26 +70,127 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   SessionTokenProperties sessionTokenProperties,
+                                                   SignupProperties signupProperties,
+                                                   BatchRegistrationProperties batchRegistrationProperties,
+                                                   ObjectProvider<SessionTokenService> sessionTokenService,
+                                                   ObjectProvider<LoginRateLimiter> loginRateLimiter,
+                                                   ObjectProvider<CompiledAuthorizationManager> compiledAuthorizationManager,
+                                                   ObjectProvider<H2ConsoleProperties> h2ConsoleProperties,
+                                                   AuthenticationEventPublisher authenticationEventPublisher,
+                                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) throws Exception {
         http.csrf(csrf -> csrf.ignoringRequestMatchers(toH2Console()).disable())
-                .authorizeHttpRequests(
-                        auth -> auth.requestMatchers(BASE_URL + "/singup").permitAll()
-                                .requestMatchers(toH2Console()).permitAll()
-                                .anyRequest().authenticated()
-                ).headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable));
+                .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable));
+
+        var compiledAuthorization = compiledAuthorizationManager.getIfAvailable();
+        if(compiledAuthorization != null)
+            http.authorizeHttpRequests(auth -> auth.anyRequest().access(compiledAuthorization));
+        else
+            http.authorizeHttpRequests(auth -> {
+                auth.requestMatchers(BASE_URL + "/singup").permitAll();
+                /*
+                * toH2Console() needs H2ConsoleProperties, which only exists
+                * while the console is enabled.
+                */
+                if(h2ConsoleProperties.getIfAvailable() != null)
+                    auth.requestMatchers(toH2Console()).permitAll();
+                auth.requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .anyRequest().authenticated();
+            });
 
         http.httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(customBasicAuthnEntryPoint));
 
+        http.addFilterBefore(new SignupPayloadLimitFilter(
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/" + BASE_URL + "/singup"),
+                signupProperties.maxBodySize().toBytes(), resolver), BasicAuthenticationFilter.class);
+        http.addFilterBefore(new SignupPayloadLimitFilter(
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/" + BASE_URL + "/singup/batch"),
+                batchRegistrationProperties.maxBodySize().toBytes(), resolver), BasicAuthenticationFilter.class);
+
+        var rateLimiter = loginRateLimiter.getIfAvailable();
+        if(rateLimiter != null)
+            http.addFilterBefore(new LoginRateLimitFilter(rateLimiter, resolver), BasicAuthenticationFilter.class);
+
+        var sessionTokens = sessionTokenService.getIfAvailable();
+        if(sessionTokens != null) {
+            http.addFilterBefore(new SessionTokenAuthenticationFilter(sessionTokens, customBasicAuthnEntryPoint,
+                                    authenticationEventPublisher), BasicAuthenticationFilter.class)
+                    .addFilterAfter(new SessionTokenIssuingFilter(sessionTokens, sessionTokenProperties.headerName()),
+                            BasicAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        return new CustomUserDetailsService();
+    @Primary
+    public UserDetailsService userDetailsService(UserStore userStore,
+                                                 ObjectProvider<CachingUserDetailsService> cachingUserDetailsService,
+                                                 MeterRegistry meterRegistry) {
+        UserDetailsService userDetailsService = cachingUserDetailsService.getIfAvailable();
+
+        if(userDetailsService == null)
+            userDetailsService = new CustomUserDetailsService(userStore);
+
+        return new InstrumentedUserDetailsService(userDetailsService, meterRegistry);
+    }
+
+    /*
+    * A bean of its own, not only a delegate, so that it receives the
+    * credential change events.
+    */
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.user-details-cache", name = "enabled", havingValue = "true")
+    public CachingUserDetailsService cachingUserDetailsService(UserStore userStore,
+                                                               UserDetailsCacheProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        return new CachingUserDetailsService(new CustomUserDetailsService(userStore), properties, meterRegistry);
+    }
+
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder,
+                                                         UserService userService,
+                                                         ObjectProvider<VerifiedCredentialCache> credentialCache,
+                                                         MeterRegistry meterRegistry) {
+        var cache = credentialCache.getIfAvailable();
+        var provider = cache != null ? new CachingDaoAuthenticationProvider(cache) : new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(new PersistingPasswordUpgrader(userService));
+        return new InstrumentedAuthenticationProvider(provider, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.credential-cache", name = "enabled", havingValue = "true")
+    public VerifiedCredentialCache verifiedCredentialCache(CredentialCacheProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new VerifiedCredentialCache(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.session-token", name = "enabled", havingValue = "true")
+    public SessionTokenService sessionTokenService(SessionTokenProperties properties) {
+        return new SessionTokenService(properties, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.login-rate-limit", name = "enabled", havingValue = "true")
+    public LoginRateLimiter loginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new LoginRateLimiter(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    @Bean
+    public PasswordHashingExecutor passwordHashingExecutor(PasswordEncoderProperties encoderProperties,
+                                                           PasswordHashingProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new PasswordHashingExecutor(AdaptivePasswordEncoderFactory.create(encoderProperties),
+                properties, meterRegistry);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new OffloadingPasswordEncoder(passwordHashingExecutor);
     }
 }
@@ -0,0 +1,44 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+@ConditionalOnProperty(prefix = "basic-authn.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditSink auditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        return new JdbcAuditSink(jdbcTemplate, transactionTemplate);
+    }
+
+    @Bean
+    public AuditWriter auditWriter(AuditSink sink, AuditProperties properties, MeterRegistry meterRegistry) {
+        return new AuditWriter(sink, properties, meterRegistry);
+    }
+
+    @Bean
+    public AuthenticationAuditListener authenticationAuditListener(AuditWriter writer) {
+        return new AuthenticationAuditListener(writer, Clock.systemUTC());
+    }
+
+    /*
+    * Event listeners are only registered for beans that exist, a lazy
+    * listener would not record any login.
+    */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerAuditListener() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AuthenticationAuditListener.class);
+    }
+}
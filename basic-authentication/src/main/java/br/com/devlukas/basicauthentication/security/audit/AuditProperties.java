@@ -0,0 +1,29 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+* bufferCapacity must be a power of two. A batch is written once batchSize
+* events are waiting or flushInterval after the previous write. When the
+* buffer is full, DROP discards the event at once and BLOCK makes the
+* request thread wait up to blockTimeout for room before discarding it.
+*/
+@ConfigurationProperties(prefix = "basic-authn.audit")
+public record AuditProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int bufferCapacity,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("drop") OverflowPolicy overflowPolicy,
+        @DefaultValue("10ms") Duration blockTimeout,
+        @DefaultValue("5s") Duration shutdownTimeout
+) {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+}
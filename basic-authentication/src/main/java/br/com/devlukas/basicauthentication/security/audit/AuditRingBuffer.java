@@ -0,0 +1,97 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/*
+* Bounded lock-free queue for many producers and a single consumer.
+*
+* Every slot carries a sequence number: a producer claims position p with a
+* CAS on the tail once slot p has sequence p (free), stores the element and
+* sets the sequence to p + 1 (full). The consumer takes slot p once its
+* sequence is p + 1 and hands it back for position p + capacity. A full
+* queue makes offer fail at once, it never waits.
+*/
+class AuditRingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /*
+    * Written by the consumer only; volatile so size() can be read anywhere.
+    */
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if(capacity < 2 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for(int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    boolean offer(E element) {
+        var position = tail.get();
+
+        while(true) {
+            var index = (int) position & mask;
+            var available = sequences.getAcquire(index) - position;
+
+            if(available == 0) {
+                if(tail.compareAndSet(position, position + 1)) {
+                    elements.setPlain(index, element);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if(available < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /*
+    * Consumer side: hands at most max elements to the consumer, in the
+    * order they were claimed, and returns how many.
+    */
+    int drain(Consumer<? super E> consumer, int max) {
+        var position = head;
+        var drained = 0;
+
+        while(drained < max) {
+            var index = (int) position & mask;
+            if(sequences.getAcquire(index) != position + 1)
+                break;
+
+            var element = elements.getPlain(index);
+            elements.setPlain(index, null);
+            sequences.setRelease(index, position + mask + 1);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import java.util.List;
+
+public interface AuditSink {
+
+    void write(List<AuthenticationAuditEvent> events);
+}
@@ -0,0 +1,164 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+* Write-behind for audit events. Request threads only offer the event to
+* the ring buffer; a single writer thread drains it and hands the sink a
+* batch once batchSize events are waiting or the flush interval elapsed.
+* The writer sleeps until the next flush is due, and the publish that
+* fills a batch wakes it early.
+* A batch the sink rejects is counted as failed and not retried, so a
+* database outage costs audit rows but never login latency.
+*/
+public class AuditWriter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditRingBuffer<AuthenticationAuditEvent> buffer;
+
+    private final AuditSink sink;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final AuditProperties.OverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutNanos;
+
+    private final long shutdownTimeoutMillis;
+
+    private final List<AuthenticationAuditEvent> batch;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    private final Counter written;
+
+    private final Counter dropped;
+
+    private final Counter failed;
+
+    public AuditWriter(AuditSink sink, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = new AuditRingBuffer<>(properties.bufferCapacity());
+        this.sink = sink;
+        this.batchSize = properties.batchSize();
+        this.flushIntervalNanos = properties.flushInterval().toNanos();
+        this.overflowPolicy = properties.overflowPolicy();
+        this.blockTimeoutNanos = properties.blockTimeout().toNanos();
+        this.shutdownTimeoutMillis = properties.shutdownTimeout().toMillis();
+        this.batch = new ArrayList<>(batchSize);
+
+        this.written = Counter.builder("auth.audit.events").tag("result", "written").register(meterRegistry);
+        this.dropped = Counter.builder("auth.audit.events").tag("result", "dropped").register(meterRegistry);
+        this.failed = Counter.builder("auth.audit.events").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("auth.audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+
+        this.writer = new Thread(this::run, "auth-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /*
+    * Never blocks under DROP. Under BLOCK the caller spins on a short park
+    * for at most blockTimeout, which only happens while the writer is
+    * behind, and the event is dropped if there is still no room.
+    */
+    public boolean publish(AuthenticationAuditEvent event) {
+        if(running && buffer.offer(event)) {
+            wakeWriterIfBatchIsFull();
+            return true;
+        }
+
+        if(running && overflowPolicy == AuditProperties.OverflowPolicy.BLOCK) {
+            var deadline = System.nanoTime() + blockTimeoutNanos;
+            while(running && System.nanoTime() - deadline < 0) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if(buffer.offer(event)) {
+                    wakeWriterIfBatchIsFull();
+                    return true;
+                }
+            }
+        }
+
+        dropped.increment();
+        return false;
+    }
+
+    private void wakeWriterIfBatchIsFull() {
+        if(buffer.size() >= batchSize)
+            LockSupport.unpark(writer);
+    }
+
+    private void run() {
+        var lastWrite = System.nanoTime();
+
+        while(running) {
+            var untilFlush = flushIntervalNanos - (System.nanoTime() - lastWrite);
+            if(buffer.size() >= batchSize || untilFlush <= 0) {
+                drainOnce();
+                lastWrite = System.nanoTime();
+            } else {
+                LockSupport.parkNanos(untilFlush);
+            }
+        }
+    }
+
+    /*
+    * Only called by the writer thread, or by destroy() once that thread
+    * is gone, so the buffer keeps a single consumer.
+    */
+    private int drainOnce() {
+        buffer.drain(batch::add, batchSize);
+        if(batch.isEmpty())
+            return 0;
+
+        var size = batch.size();
+        try {
+            sink.write(batch);
+            written.increment(size);
+        } catch (RuntimeException ex) {
+            log.warn("Could not write {} authentication audit events", size, ex);
+            failed.increment(size);
+        } finally {
+            batch.clear();
+        }
+        return size;
+    }
+
+    int buffered() {
+        return buffer.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeoutMillis);
+
+        if(writer.isAlive()) {
+            log.warn("Audit writer did not stop within {} ms, {} buffered events are lost",
+                    shutdownTimeoutMillis, buffer.size());
+            return;
+        }
+
+        var drained = drainOnce();
+        while(drained > 0)
+            drained = drainOnce();
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+/*
+* One login attempt. reason is the AuthenticationFailureReason tag of a
+* failure and null for a success.
+*/
+public record AuthenticationAuditEvent(
+        long occurredAtMillis,
+        Outcome outcome,
+        String username,
+        String remoteAddress,
+        String reason
+) {
+
+    public enum Outcome {
+        SUCCESS,
+        FAILURE
+    }
+}
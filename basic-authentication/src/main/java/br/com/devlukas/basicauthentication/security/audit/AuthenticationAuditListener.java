@@ -0,0 +1,43 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import br.com.devlukas.basicauthentication.security.metrics.AuthenticationFailureReason;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Clock;
+
+public class AuthenticationAuditListener {
+
+    private final AuditWriter writer;
+
+    private final Clock clock;
+
+    public AuthenticationAuditListener(AuditWriter writer, Clock clock) {
+        this.writer = writer;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        var authentication = event.getAuthentication();
+        writer.publish(new AuthenticationAuditEvent(clock.millis(), AuthenticationAuditEvent.Outcome.SUCCESS,
+                authentication.getName(), remoteAddress(authentication), null));
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        var authentication = event.getAuthentication();
+        writer.publish(new AuthenticationAuditEvent(clock.millis(), AuthenticationAuditEvent.Outcome.FAILURE,
+                authentication.getName(), remoteAddress(authentication),
+                AuthenticationFailureReason.of(event.getException()).tag()));
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/*
+* One JDBC batch and one commit per drained batch. The explicit transaction
+* matters with the prod pool, which hands out connections with auto-commit
+* off.
+*/
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT = "INSERT INTO auth_audit (occurred_at, outcome, username, remote_address, reason) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void write(List<AuthenticationAuditEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        var event = events.get(i);
+                        statement.setTimestamp(1, new Timestamp(event.occurredAtMillis()));
+                        statement.setString(2, event.outcome().name());
+                        statement.setString(3, truncate(event.username()));
+                        statement.setString(4, event.remoteAddress());
+                        statement.setString(5, event.reason());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return events.size();
+                    }
+                }));
+    }
+
+    /*
+    * Login usernames come straight from the Authorization header and are
+    * not validated like signups.
+    */
+    private static String truncate(String username) {
+        return username != null && username.length() > MAX_USERNAME_LENGTH
+                ? username.substring(0, MAX_USERNAME_LENGTH)
+                : username;
+    }
+}
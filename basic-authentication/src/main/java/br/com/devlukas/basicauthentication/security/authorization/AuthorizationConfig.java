@@ -0,0 +1,53 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+
+@Configuration
+@EnableConfigurationProperties(AuthorizationProperties.class)
+@ConditionalOnProperty(prefix = "basic-authn.authorization", name = "mode", havingValue = "compiled")
+public class AuthorizationConfig {
+
+    /*
+    * The permitAll rules of the matchers mode, in the same order. The H2
+    * console is only open while it is enabled.
+    */
+    @Bean
+    public CompiledAuthorizationManager compiledAuthorizationManager(Environment environment,
+                                                                     ObjectProvider<H2ConsoleProperties> h2Console) {
+        var actuator = environment.getProperty("management.endpoints.web.base-path", "/actuator");
+
+        var rules = new ArrayList<AuthorizationRule>();
+        rules.add(new AuthorizationRule(null, "/api/v1/basic-authn/singup", "permit-all"));
+        h2Console.ifAvailable(console -> rules.add(new AuthorizationRule(null, console.getPath() + "/**", "permit-all")));
+        rules.add(new AuthorizationRule(null, actuator + "/health", "permit-all"));
+        rules.add(new AuthorizationRule(null, actuator + "/health/**", "permit-all"));
+
+        return new CompiledAuthorizationManager(rules);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "basic-authn.authorization", name = "rules-file")
+    public AuthorizationRulesReloader authorizationRulesReloader(CompiledAuthorizationManager authorizationManager,
+                                                                 AuthorizationProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new AuthorizationRulesReloader(properties.rulesFile(), authorizationManager, properties, meterRegistry);
+    }
+
+    /*
+    * Nothing depends on the reloader, a lazy one would never load the file.
+    */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerAuthorizationRulesReloader() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AuthorizationRulesReloader.class);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/*
+* mode=matchers keeps the requestMatchers list in SecurityConfig. With
+* mode=compiled, the rules in rulesFile (see AuthorizationRule for the
+* format) are checked for changes every reloadInterval and recompiled
+* without a restart.
+*/
+@ConfigurationProperties(prefix = "basic-authn.authorization")
+public record AuthorizationProperties(
+        @DefaultValue("matchers") Mode mode,
+        Path rulesFile,
+        @DefaultValue("5s") Duration reloadInterval
+) {
+
+    public enum Mode {
+        MATCHERS,
+        COMPILED
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Locale;
+
+/*
+* One line of the rules file: an HTTP method or "*", an Ant-style path
+* pattern and the access, one of permit-all, deny-all, authenticated,
+* authority:<name> or role:<name>, e.g.
+*
+*   GET  /api/v1/tenants/{tenant}/reports/**  authority:REPORTS_READ
+*
+* Blank lines and lines starting with # are ignored.
+*/
+public record AuthorizationRule(String method, String pattern, String access) {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    public static AuthorizationRule parse(String line) {
+        var fields = line.trim().split("\\s+");
+
+        if(fields.length != 3)
+            throw new IllegalArgumentException("Expected '<method> <pattern> <access>', got '%s'".formatted(line));
+        if(!fields[1].startsWith("/"))
+            throw new IllegalArgumentException("Pattern must start with '/': " + fields[1]);
+
+        var method = fields[0].equals("*") ? null : fields[0].toUpperCase(Locale.ROOT);
+        var rule = new AuthorizationRule(method, fields[1], fields[2]);
+        rule.toAuthorizationManager();
+        return rule;
+    }
+
+    public AuthorizationManager<RequestAuthorizationContext> toAuthorizationManager() {
+        if(access.equals("permit-all"))
+            return (authentication, context) -> GRANTED;
+        if(access.equals("deny-all"))
+            return (authentication, context) -> DENIED;
+        if(access.equals("authenticated"))
+            return AuthenticatedAuthorizationManager.authenticated();
+        if(access.startsWith("authority:") && access.length() > "authority:".length())
+            return AuthorityAuthorizationManager.hasAuthority(access.substring("authority:".length()));
+        if(access.startsWith("role:") && access.length() > "role:".length())
+            return AuthorityAuthorizationManager.hasRole(access.substring("role:".length()));
+
+        throw new IllegalArgumentException("Unknown access '%s' for %s".formatted(access, pattern));
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Loads the rules file into the CompiledAuthorizationManager and polls it
+* for changes. A file that cannot be read or parsed fails the startup; at
+* a later reload it is logged and the rules in force are kept.
+*/
+public class AuthorizationRulesReloader implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationRulesReloader.class);
+
+    private final Path rulesFile;
+
+    private final CompiledAuthorizationManager authorizationManager;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("authorization-rules-"));
+
+    private final Counter reloads;
+
+    private final Counter failedReloads;
+
+    private FileTime lastModified;
+
+    private long lastSize;
+
+    public AuthorizationRulesReloader(Path rulesFile,
+                                      CompiledAuthorizationManager authorizationManager,
+                                      AuthorizationProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.rulesFile = rulesFile;
+        this.authorizationManager = authorizationManager;
+
+        this.reloads = Counter.builder("auth.authorization.rules.reloads").tag("result", "success")
+                .register(meterRegistry);
+        this.failedReloads = Counter.builder("auth.authorization.rules.reloads").tag("result", "failure")
+                .register(meterRegistry);
+        Gauge.builder("auth.authorization.rules", authorizationManager, CompiledAuthorizationManager::configuredRules)
+                .register(meterRegistry);
+
+        try {
+            load();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read authorization rules from " + rulesFile, ex);
+        }
+
+        var interval = properties.reloadInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::reloadIfChanged, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void reloadIfChanged() {
+        try {
+            if(Objects.equals(Files.getLastModifiedTime(rulesFile), lastModified) && Files.size(rulesFile) == lastSize)
+                return;
+
+            load();
+            reloads.increment();
+        } catch (IOException | RuntimeException ex) {
+            failedReloads.increment();
+            log.warn("Could not reload authorization rules from {}, keeping the current rules", rulesFile, ex);
+        }
+    }
+
+    /*
+    * Size and time are read before the content, so a write racing with
+    * the read is picked up again on the next poll.
+    */
+    private void load() throws IOException {
+        var modified = Files.getLastModifiedTime(rulesFile);
+        var size = Files.size(rulesFile);
+
+        var rules = parse(Files.readAllLines(rulesFile));
+        authorizationManager.reload(rules);
+
+        lastModified = modified;
+        lastSize = size;
+        log.info("Loaded {} authorization rules from {}", rules.size(), rulesFile);
+    }
+
+    static List<AuthorizationRule> parse(List<String> lines) {
+        var rules = new ArrayList<AuthorizationRule>(lines.size());
+
+        for(int i = 0; i < lines.size(); i++) {
+            var line = lines.get(i).trim();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            try {
+                rules.add(AuthorizationRule.parse(line));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Line %d: %s".formatted(i + 1, ex.getMessage()), ex);
+            }
+        }
+
+        return rules;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
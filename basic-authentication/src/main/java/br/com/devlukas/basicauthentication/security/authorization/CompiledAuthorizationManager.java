@@ -0,0 +1,72 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+* Replaces the ordered requestMatchers list with a PathRuleIndex. The
+* built-in rules come first, so configured rules cannot open or close them,
+* and every request that matches nothing needs authentication, like
+* anyRequest().authenticated() did.
+*
+* reload() compiles the new rules before swapping them in, so requests
+* never see a partially built index.
+*/
+public class CompiledAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationRule ANY_REQUEST = new AuthorizationRule(null, "/**", "authenticated");
+
+    private final List<AuthorizationRule> builtInRules;
+
+    private volatile PathRuleIndex<AuthorizationManager<RequestAuthorizationContext>> index;
+
+    public CompiledAuthorizationManager(List<AuthorizationRule> builtInRules) {
+        this.builtInRules = List.copyOf(builtInRules);
+        reload(List.of());
+    }
+
+    public void reload(List<AuthorizationRule> rules) {
+        var all = new ArrayList<AuthorizationRule>(builtInRules.size() + rules.size() + 1);
+        all.addAll(builtInRules);
+        all.addAll(rules);
+        all.add(ANY_REQUEST);
+
+        index = PathRuleIndex.compile(all.stream()
+                .map(rule -> new PathRuleIndex.Rule<>(rule.method(), rule.pattern(), rule.toAuthorizationManager()))
+                .toList());
+    }
+
+    /*
+    * Rules other than the built-in ones and the final catch-all.
+    */
+    public int configuredRules() {
+        return index.size() - builtInRules.size() - 1;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        var request = context.getRequest();
+        return index.match(request.getMethod(), path(request)).check(authentication, context);
+    }
+
+    /*
+    * Same path AntPathRequestMatcher matches against.
+    */
+    private static String path(HttpServletRequest request) {
+        var path = request.getServletPath();
+        var pathInfo = request.getPathInfo();
+
+        if(pathInfo != null)
+            path = StringUtils.hasLength(path) ? path + pathInfo : pathInfo;
+
+        return path;
+    }
+}
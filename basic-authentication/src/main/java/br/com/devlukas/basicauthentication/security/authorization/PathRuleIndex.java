@@ -0,0 +1,221 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+* Ordered path rules compiled into a trie of path segments. A lookup walks
+* the request path once, following the literal child of each segment plus
+* any wildcard children, and keeps the matching rule declared first, so the
+* answer is the same as checking the rules one by one in order while the
+* cost depends on the depth of the path, not on the number of rules.
+*
+* Patterns are Ant-style like AntPathRequestMatcher: a segment is a literal,
+* "*" or "{name}" for any one segment, a glob such as "*.css", or "**" for
+* any remaining segments, which is only allowed as the last segment.
+*/
+public final class PathRuleIndex<T> {
+
+    private static final AntPathMatcher GLOB_MATCHER = new AntPathMatcher();
+
+    private final Node<T> root;
+
+    private final int size;
+
+    private PathRuleIndex(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> PathRuleIndex<T> compile(List<Rule<T>> rules) {
+        var root = new Node<T>();
+
+        for(int order = 0; order < rules.size(); order++) {
+            var rule = rules.get(order);
+            var segments = segments(rule.pattern());
+            var node = root;
+            var rest = false;
+
+            for(int i = 0; i < segments.length; i++) {
+                var segment = segments[i];
+
+                if(segment.equals("**")) {
+                    if(i != segments.length - 1)
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + rule.pattern());
+                    rest = true;
+                } else if(segment.equals("*")) {
+                    if(node.star == null)
+                        node.star = new Node<>();
+                    node = node.star;
+                } else if(isVariable(segment)) {
+                    if(node.variable == null)
+                        node.variable = new Node<>();
+                    node = node.variable;
+                } else if(segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0) {
+                    node = node.globs.computeIfAbsent(segment, glob -> new Node<>());
+                } else {
+                    node = node.literals.computeIfAbsent(segment, literal -> new Node<>());
+                }
+            }
+
+            /*
+            * As with AntPathMatcher, a trailing slash has to be on both the
+            * pattern and the path, unless the pattern ends in "**".
+            */
+            var entry = new Entry<>(order, rule.method(), rule.value());
+            if(rest)
+                node.rest.add(entry);
+            else if(rule.pattern().endsWith("/"))
+                node.exactWithSlash.add(entry);
+            else
+                node.exact.add(entry);
+        }
+
+        root.seal();
+        return new PathRuleIndex<>(root, rules.size());
+    }
+
+    /*
+    * The value of the first rule matching method and path, or null.
+    */
+    public T match(String method, String path) {
+        var best = visit(root, segments(path), 0, path.endsWith("/"), method, null);
+        return best != null ? best.value() : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static <T> Entry<T> visit(Node<T> node, String[] segments, int index, boolean trailingSlash,
+                                      String method, Entry<T> best) {
+        best = first(node.restEntries, method, best);
+
+        if(index == segments.length) {
+            if(!trailingSlash)
+                return first(node.exactEntries, method, best);
+
+            /*
+            * AntPathMatcher lets a last "*" match nothing after a trailing
+            * slash: "/reports/*" matches "/reports/".
+            */
+            best = first(node.exactWithSlashEntries, method, best);
+            if(node.star != null) {
+                best = first(node.star.exactEntries, method, best);
+                best = first(node.star.exactWithSlashEntries, method, best);
+            }
+            return best;
+        }
+
+        var segment = segments[index];
+
+        var literal = node.literals.get(segment);
+        if(literal != null)
+            best = visit(literal, segments, index + 1, trailingSlash, method, best);
+
+        for(int i = 0; i < node.globPatterns.length; i++) {
+            if(GLOB_MATCHER.match(node.globPatterns[i], segment))
+                best = visit(node.globNodes[i], segments, index + 1, trailingSlash, method, best);
+        }
+
+        if(node.star != null)
+            best = visit(node.star, segments, index + 1, trailingSlash, method, best);
+
+        if(node.variable != null)
+            best = visit(node.variable, segments, index + 1, trailingSlash, method, best);
+
+        return best;
+    }
+
+    /*
+    * Entries are sorted by declaration order, so the scan stops as soon as
+    * it reaches rules declared after the best match found so far.
+    */
+    private static <T> Entry<T> first(Entry<T>[] entries, String method, Entry<T> best) {
+        for(var entry : entries) {
+            if(best != null && entry.order() > best.order())
+                return best;
+            if(entry.method() == null || entry.method().equals(method))
+                return entry;
+        }
+        return best;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.indexOf('}') == segment.length() - 1
+                && segment.indexOf(':') < 0;
+    }
+
+    private static String[] segments(String path) {
+        var segments = new ArrayList<String>(8);
+        var start = 0;
+
+        for(int i = 0; i <= path.length(); i++) {
+            if(i == path.length() || path.charAt(i) == '/') {
+                if(i > start)
+                    segments.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        return segments.toArray(String[]::new);
+    }
+
+    public record Rule<T>(String method, String pattern, T value) {
+    }
+
+    private record Entry<T>(int order, String method, T value) {
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> literals = new HashMap<>();
+
+        private final Map<String, Node<T>> globs = new HashMap<>();
+
+        private Node<T> star;
+
+        private Node<T> variable;
+
+        private final List<Entry<T>> exact = new ArrayList<>();
+
+        private final List<Entry<T>> exactWithSlash = new ArrayList<>();
+
+        private final List<Entry<T>> rest = new ArrayList<>();
+
+        private Entry<T>[] exactEntries;
+
+        private Entry<T>[] exactWithSlashEntries;
+
+        private Entry<T>[] restEntries;
+
+        private String[] globPatterns;
+
+        private Node<T>[] globNodes;
+
+        /*
+        * Arrays for the lookup path; the lists are only needed while
+        * compiling. They are filled in declaration order, so already sorted.
+        */
+        @SuppressWarnings("unchecked")
+        private void seal() {
+            exactEntries = exact.toArray(Entry[]::new);
+            exactWithSlashEntries = exactWithSlash.toArray(Entry[]::new);
+            restEntries = rest.toArray(Entry[]::new);
+            globPatterns = globs.keySet().toArray(String[]::new);
+            globNodes = Arrays.stream(globPatterns).map(globs::get).toArray(Node[]::new);
+
+            literals.values().forEach(Node::seal);
+            globs.values().forEach(Node::seal);
+            if(star != null)
+                star.seal();
+            if(variable != null)
+                variable.seal();
+        }
+    }
+}
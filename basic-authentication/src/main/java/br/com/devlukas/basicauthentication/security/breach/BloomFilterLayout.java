@@ -0,0 +1,124 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+* File layout shared by the builder and the filter. A 64 byte little-endian
+* header is followed by the bit array:
+*
+*   0  int    magic "BPBF"
+*   4  int    format version
+*   8  int    number of hash functions (k)
+*   16 long   number of bits (m), a multiple of 64
+*   24 long   number of entries inserted (n)
+*   32 double false-positive rate measured by the builder
+*   40 long   number of samples the rate was measured with
+*
+* Keys are SHA-1 digests, which are already uniform, so the k bit positions
+* are derived from the first 16 digest bytes by double hashing instead of k
+* separate hash functions. The bit array is mapped in 1 GiB segments, as a
+* single MappedByteBuffer cannot address more than 2 GiB.
+*/
+final class BloomFilterLayout {
+
+    static final int MAGIC = 0x46425042;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 64;
+
+    static final int DIGEST_BYTES = 20;
+
+    static final int MAGIC_OFFSET = 0;
+
+    static final int VERSION_OFFSET = 4;
+
+    static final int HASH_FUNCTIONS_OFFSET = 8;
+
+    static final int BIT_COUNT_OFFSET = 16;
+
+    static final int ENTRIES_OFFSET = 24;
+
+    static final int FALSE_POSITIVE_RATE_OFFSET = 32;
+
+    static final int FALSE_POSITIVE_SAMPLES_OFFSET = 40;
+
+    private static final int SEGMENT_SHIFT = 30;
+
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final MappedByteBuffer[] segments;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    private BloomFilterLayout(MappedByteBuffer[] segments, long bitCount, int hashFunctions) {
+        this.segments = segments;
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+    }
+
+    static BloomFilterLayout map(FileChannel channel, FileChannel.MapMode mode, long bitCount, int hashFunctions)
+            throws IOException {
+        var bytes = bitCount >>> 3;
+        var segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+
+        for(int i = 0; i < segments.length; i++) {
+            var position = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, HEADER_BYTES + position, Math.min(SEGMENT_MASK + 1, bytes - position));
+        }
+
+        return new BloomFilterLayout(segments, bitCount, hashFunctions);
+    }
+
+    /*
+    * Smallest m for the target rate, p = (1 - e^(-kn/m))^k with the best k.
+    */
+    static long optimalBitCount(long entries, double falsePositiveRate) {
+        var bits = (long) Math.ceil(-Math.max(entries, 1) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return (bits + 63) & ~63L;
+    }
+
+    static int optimalHashFunctions(long entries, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / Math.max(entries, 1) * Math.log(2)));
+    }
+
+    void put(byte[] digest) {
+        var h1 = (long) LONGS.get(digest, 0);
+        var h2 = (long) LONGS.get(digest, 8);
+
+        for(int i = 0; i < hashFunctions; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            var segment = segments[(int) (bit >>> (SEGMENT_SHIFT + 3))];
+            var index = (int) ((bit >>> 3) & SEGMENT_MASK);
+            segment.put(index, (byte) (segment.get(index) | (1 << (bit & 7))));
+        }
+    }
+
+    boolean mightContain(byte[] digest) {
+        var h1 = (long) LONGS.get(digest, 0);
+        var h2 = (long) LONGS.get(digest, 8);
+
+        for(int i = 0; i < hashFunctions; i++) {
+            var bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            var segment = segments[(int) (bit >>> (SEGMENT_SHIFT + 3))];
+            if((segment.get((int) ((bit >>> 3) & SEGMENT_MASK)) & (1 << (bit & 7))) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    void force() {
+        for(var segment : segments)
+            segment.force();
+    }
+}
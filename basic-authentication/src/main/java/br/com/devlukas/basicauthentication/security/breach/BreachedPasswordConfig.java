@@ -0,0 +1,46 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(BreachedPasswordProperties.class)
+@ConditionalOnProperty(prefix = "basic-authn.breached-passwords", name = "enabled", havingValue = "true")
+public class BreachedPasswordConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BreachedPasswordConfig.class);
+
+    /*
+    * A missing or corrupt filter fails the startup rather than letting
+    * signups through unchecked.
+    */
+    @Bean
+    public BreachedPasswordFilter breachedPasswordFilter(BreachedPasswordProperties properties,
+                                                         MeterRegistry meterRegistry) throws IOException {
+        if(properties.filterPath() == null)
+            throw new IllegalStateException("basic-authn.breached-passwords.filter-path is required when enabled");
+
+        var filter = BreachedPasswordFilter.open(properties.filterPath());
+
+        log.info("Breached password filter {} mapped: {} entries, {} bytes, {} hash functions, "
+                        + "measured false-positive rate {} over {} samples",
+                filter.file(), filter.entries(), filter.sizeInBytes(), filter.hashFunctions(),
+                filter.measuredFalsePositiveRate(), filter.falsePositiveSamples());
+
+        Gauge.builder("auth.breached-password.filter.entries", filter, BreachedPasswordFilter::entries)
+                .register(meterRegistry);
+        Gauge.builder("auth.breached-password.filter.false-positive-rate", filter,
+                        BreachedPasswordFilter::measuredFalsePositiveRate)
+                .register(meterRegistry);
+
+        return filter;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/*
+* Read-only view of a filter written by BreachedPasswordFilterBuilder. The
+* bit array is memory-mapped, so it lives in the page cache and not on the
+* heap, and the pages a lookup touches are faulted in on first use.
+*
+* A false answer is definite; a true answer means the password is in the
+* breach list or is a false positive, at about the measured rate.
+*/
+public class BreachedPasswordFilter {
+
+    private final Path file;
+
+    private final BloomFilterLayout layout;
+
+    private final MessageDigest sha1;
+
+    private final long entries;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    private final double measuredFalsePositiveRate;
+
+    private final long falsePositiveSamples;
+
+    private BreachedPasswordFilter(Path file, BloomFilterLayout layout, long entries, long bitCount,
+                                   int hashFunctions, double measuredFalsePositiveRate, long falsePositiveSamples) {
+        this.file = file;
+        this.layout = layout;
+        this.sha1 = sha1();
+        this.entries = entries;
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+        this.measuredFalsePositiveRate = measuredFalsePositiveRate;
+        this.falsePositiveSamples = falsePositiveSamples;
+    }
+
+    public static BreachedPasswordFilter open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(BloomFilterLayout.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while(header.hasRemaining()) {
+                if(channel.read(header) < 0)
+                    break;
+            }
+
+            if(header.hasRemaining() || header.getInt(BloomFilterLayout.MAGIC_OFFSET) != BloomFilterLayout.MAGIC)
+                throw new IOException("%s is not a breached password filter".formatted(file));
+            if(header.getInt(BloomFilterLayout.VERSION_OFFSET) != BloomFilterLayout.VERSION)
+                throw new IOException("%s has format version %d, expected %d".formatted(file,
+                        header.getInt(BloomFilterLayout.VERSION_OFFSET), BloomFilterLayout.VERSION));
+
+            var hashFunctions = header.getInt(BloomFilterLayout.HASH_FUNCTIONS_OFFSET);
+            var bitCount = header.getLong(BloomFilterLayout.BIT_COUNT_OFFSET);
+
+            /*
+            * The builder always writes whole words and at least one hash
+            * function. Anything else is a corrupt header, which would
+            * otherwise fail or reject every signup.
+            */
+            if(bitCount <= 0 || bitCount % Long.SIZE != 0)
+                throw new IOException("%s has %d bits, expected a positive multiple of %d".formatted(file,
+                        bitCount, Long.SIZE));
+            if(hashFunctions < 1)
+                throw new IOException("%s has %d hash functions, expected at least 1".formatted(file, hashFunctions));
+
+            if(channel.size() != BloomFilterLayout.HEADER_BYTES + (bitCount >>> 3))
+                throw new IOException("%s is truncated, expected %d bits".formatted(file, bitCount));
+
+            /*
+            * The mapping stays valid after the channel is closed.
+            */
+            var layout = BloomFilterLayout.map(channel, FileChannel.MapMode.READ_ONLY, bitCount, hashFunctions);
+
+            return new BreachedPasswordFilter(file, layout,
+                    header.getLong(BloomFilterLayout.ENTRIES_OFFSET),
+                    bitCount,
+                    hashFunctions,
+                    header.getDouble(BloomFilterLayout.FALSE_POSITIVE_RATE_OFFSET),
+                    header.getLong(BloomFilterLayout.FALSE_POSITIVE_SAMPLES_OFFSET));
+        }
+    }
+
+    public boolean mightContain(CharSequence password) {
+        return layout.mightContain(digest(password.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+    * Cloning a prepared digest skips the provider lookup getInstance does
+    * on every call; the clone is not shared, so this is thread-safe.
+    */
+    private byte[] digest(byte[] bytes) {
+        try {
+            return ((MessageDigest) sha1.clone()).digest(bytes);
+        } catch (CloneNotSupportedException ex) {
+            return sha1().digest(bytes);
+        }
+    }
+
+    static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 is not available", ex);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long entries() {
+        return entries;
+    }
+
+    public long sizeInBytes() {
+        return bitCount >>> 3;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public double measuredFalsePositiveRate() {
+        return measuredFalsePositiveRate;
+    }
+
+    public long falsePositiveSamples() {
+        return falsePositiveSamples;
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/*
+* Offline tool that turns a list of SHA-1 password hashes into the filter
+* file BreachedPasswordFilter maps at startup. Each input line starts with
+* 40 hex digits, anything after them (like the ":count" suffix of the Have I
+* Been Pwned dumps) is ignored, and so are lines that do not start with a
+* hash. The list is read twice: once to count the entries that size the
+* filter, once to insert them straight into the mapped output file, so the
+* tool needs no heap for the bits either.
+*
+* The false-positive rate is then measured with random digests, which are
+* in the list with negligible probability, and stored in the header.
+*
+*   java -cp target/classes br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilterBuilder \
+*       --input=pwned-passwords-sha1.txt --output=breached-passwords.bloom --false-positive-rate=0.001
+*/
+public class BreachedPasswordFilterBuilder {
+
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private static final int DEFAULT_SAMPLES = 10_000_000;
+
+    public static void main(String[] args) throws IOException {
+        Path input = null;
+        Path output = null;
+        var falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        var samples = DEFAULT_SAMPLES;
+
+        for(var arg : args) {
+            if(arg.startsWith("--input="))
+                input = Path.of(arg.substring("--input=".length()));
+            else if(arg.startsWith("--output="))
+                output = Path.of(arg.substring("--output=".length()));
+            else if(arg.startsWith("--false-positive-rate="))
+                falsePositiveRate = Double.parseDouble(arg.substring("--false-positive-rate=".length()));
+            else if(arg.startsWith("--samples="))
+                samples = Integer.parseInt(arg.substring("--samples=".length()));
+            else
+                throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        if(input == null || output == null)
+            throw new IllegalArgumentException("--input and --output are required");
+
+        var started = System.nanoTime();
+        var result = build(input, output, falsePositiveRate, samples);
+
+        System.out.printf("%s: %d entries (%d lines skipped), %d bytes, %d hash functions, "
+                        + "measured false-positive rate %.6f over %d samples, built in %d s%n",
+                output, result.entries(), result.skippedLines(), result.sizeInBytes(), result.hashFunctions(),
+                result.measuredFalsePositiveRate(), samples, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    public static Result build(Path input, Path output, double falsePositiveRate, int samples) throws IOException {
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1, got " + falsePositiveRate);
+
+        var entries = 0L;
+        var skipped = 0L;
+        var digest = new byte[BloomFilterLayout.DIGEST_BYTES];
+
+        try (var lines = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+            String line;
+            while((line = lines.readLine()) != null) {
+                if(parseDigest(line, digest))
+                    entries++;
+                else
+                    skipped++;
+            }
+        }
+
+        var bitCount = BloomFilterLayout.optimalBitCount(entries, falsePositiveRate);
+        var hashFunctions = BloomFilterLayout.optimalHashFunctions(entries, bitCount);
+
+        try (var channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var layout = BloomFilterLayout.map(channel, FileChannel.MapMode.READ_WRITE, bitCount, hashFunctions);
+
+            try (var lines = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+                String line;
+                while((line = lines.readLine()) != null) {
+                    if(parseDigest(line, digest))
+                        layout.put(digest);
+                }
+            }
+
+            var positives = 0L;
+            var random = new SplittableRandom(samples);
+            for(int i = 0; i < samples; i++) {
+                random.nextBytes(digest);
+                if(layout.mightContain(digest))
+                    positives++;
+            }
+            var measuredFalsePositiveRate = samples > 0 ? (double) positives / samples : Double.NaN;
+
+            layout.force();
+
+            var header = ByteBuffer.allocate(BloomFilterLayout.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(BloomFilterLayout.MAGIC_OFFSET, BloomFilterLayout.MAGIC)
+                    .putInt(BloomFilterLayout.VERSION_OFFSET, BloomFilterLayout.VERSION)
+                    .putInt(BloomFilterLayout.HASH_FUNCTIONS_OFFSET, hashFunctions)
+                    .putLong(BloomFilterLayout.BIT_COUNT_OFFSET, bitCount)
+                    .putLong(BloomFilterLayout.ENTRIES_OFFSET, entries)
+                    .putDouble(BloomFilterLayout.FALSE_POSITIVE_RATE_OFFSET, measuredFalsePositiveRate)
+                    .putLong(BloomFilterLayout.FALSE_POSITIVE_SAMPLES_OFFSET, samples);
+            while(header.hasRemaining())
+                channel.write(header, header.position());
+            channel.force(true);
+
+            return new Result(entries, skipped, bitCount >>> 3, hashFunctions, measuredFalsePositiveRate);
+        }
+    }
+
+    /*
+    * Case-insensitive, without allocating: the list can have billions of
+    * lines.
+    */
+    static boolean parseDigest(String line, byte[] digest) {
+        if(line.length() < BloomFilterLayout.DIGEST_BYTES * 2)
+            return false;
+
+        for(int i = 0; i < BloomFilterLayout.DIGEST_BYTES; i++) {
+            var high = Character.digit(line.charAt(2 * i), 16);
+            var low = Character.digit(line.charAt(2 * i + 1), 16);
+            if(high < 0 || low < 0)
+                return false;
+            digest[i] = (byte) (high << 4 | low);
+        }
+
+        return line.length() == BloomFilterLayout.DIGEST_BYTES * 2
+                || !Character.isLetterOrDigit(line.charAt(BloomFilterLayout.DIGEST_BYTES * 2));
+    }
+
+    public record Result(long entries, long skippedLines, long sizeInBytes, int hashFunctions,
+                         double measuredFalsePositiveRate) {
+    }
+}
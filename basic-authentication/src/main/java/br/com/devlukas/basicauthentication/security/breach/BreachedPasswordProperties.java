@@ -0,0 +1,16 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/*
+* filterPath points to a file written by BreachedPasswordFilterBuilder; it
+* has to be a plain file, not a classpath resource, to be memory-mapped.
+*/
+@ConfigurationProperties(prefix = "basic-authn.breached-passwords")
+public record BreachedPasswordProperties(
+        boolean enabled,
+        Path filterPath
+) {
+}
@@ -0,0 +1,34 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/*
+* Skips the password encoder when the same credentials were already
+* verified against the same stored hash.
+*/
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialCache credentialCache;
+
+    public CachingDaoAuthenticationProvider(VerifiedCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
+
+        var credentials = authentication.getCredentials();
+
+        if(credentials != null
+                && credentialCache.isVerified(userDetails.getUsername(), userDetails.getPassword(), credentials.toString()))
+            return;
+
+        super.additionalAuthenticationChecks(userDetails, authentication);
+
+        credentialCache.put(userDetails.getUsername(), userDetails.getPassword(), credentials.toString());
+    }
+}
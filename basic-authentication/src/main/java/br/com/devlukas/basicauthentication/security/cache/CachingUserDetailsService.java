@@ -0,0 +1,83 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.invalidation.RemoteCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/*
+* Keeps found users for a while and remembers unknown emails for a shorter
+* time, so repeated lookups (including credential stuffing) skip the database.
+* A copy is handed out on every call because the ProviderManager erases the
+* credentials of the returned principal after authentication.
+*/
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+
+    private final Cache<String, UserDetails> users;
+
+    private final Cache<String, Boolean> unknownEmails;
+
+    public CachingUserDetailsService(UserDetailsService delegate,
+                                     UserDetailsCacheProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(properties.negativeMaximumSize())
+                .expireAfterWrite(properties.negativeTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "user-details");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "user-details-negative");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        var cached = users.getIfPresent(email);
+
+        if(cached != null)
+            return User.withUserDetails(cached).build();
+
+        if(unknownEmails.getIfPresent(email) != null)
+            throw new UsernameNotFoundException("User not found.");
+
+        try {
+            var userDetails = delegate.loadUserByUsername(email);
+            users.put(email, User.withUserDetails(userDetails).build());
+            return userDetails;
+        } catch (UsernameNotFoundException ex) {
+            unknownEmails.put(email, Boolean.TRUE);
+            throw ex;
+        }
+    }
+
+    public void evict(String email) {
+        users.invalidate(email);
+        unknownEmails.invalidate(email);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        evict(event.email());
+    }
+
+    @EventListener
+    public void onRemoteCredentialsChanged(RemoteCredentialsChangedEvent event) {
+        users.invalidateAll(event.emails());
+        unknownEmails.invalidateAll(event.emails());
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "basic-authn.credential-cache")
+public record CredentialCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("10000") long maximumSize
+) {
+}
@@ -0,0 +1,16 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "basic-authn.user-details-cache")
+public record UserDetailsCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("30s") Duration negativeTtl,
+        @DefaultValue("100000") long negativeMaximumSize
+) {
+}
@@ -0,0 +1,102 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.invalidation.RemoteCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/*
+* Remembers (username, credential digest) pairs that already passed BCrypt.
+* The raw password is never stored, only an HMAC keyed with a per-process secret,
+* and every entry is bound to the stored hash it was verified against, so a
+* password change invalidates it even before the change event arrives.
+*/
+public class VerifiedCredentialCache {
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, VerifiedCredential> cache;
+
+    private final SecretKeySpec digestKey;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public VerifiedCredentialCache(CredentialCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, DIGEST_ALGORITHM);
+
+        this.hits = Counter.builder("auth.credential.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.credential.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.credential.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+        FunctionCounter.builder("auth.credential.cache.evictions", cache, c -> c.stats().evictionCount())
+                .register(meterRegistry);
+    }
+
+    public boolean isVerified(String username, String encodedPassword, CharSequence rawPassword) {
+        var entry = cache.getIfPresent(username);
+
+        if(entry != null
+                && entry.encodedPassword().equals(encodedPassword)
+                && MessageDigest.isEqual(entry.digest(), digest(rawPassword))) {
+            hits.increment();
+            return true;
+        }
+
+        misses.increment();
+        return false;
+    }
+
+    public void put(String username, String encodedPassword, CharSequence rawPassword) {
+        cache.put(username, new VerifiedCredential(encodedPassword, digest(rawPassword)));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        invalidate(event.email());
+    }
+
+    @EventListener
+    public void onRemoteCredentialsChanged(RemoteCredentialsChangedEvent event) {
+        cache.invalidateAll(event.emails());
+    }
+
+    private byte[] digest(CharSequence rawPassword) {
+        try {
+            var mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword)));
+            return mac.doFinal();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to digest credentials", ex);
+        }
+    }
+
+    private record VerifiedCredential(String encodedPassword, byte[] digest) {
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.devlukas.basicauthentication.security.hashing;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordHashingExecutor executor;
+
+    public OffloadingPasswordEncoder(PasswordHashingExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.devlukas.basicauthentication.security.hashing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+* Runs the CPU-bound password encoder on a fixed pool with a bounded queue,
+* so a burst of signups or logins cannot occupy every servlet thread.
+* When the queue is full the work is refused right away.
+*/
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int poolSize;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(PasswordEncoder delegate,
+                                   PasswordHashingProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        this.poolSize = properties.effectivePoolSize();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejections = Counter.builder("auth.password.hash.rejections").register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword))));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword))));
+    }
+
+    /*
+    * Bulk variant for batch registration. It keeps at most poolSize hashes of
+    * the batch in flight so interactive requests still find room in the queue,
+    * and hashes on the calling thread instead of failing when the queue is full.
+    */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        var encoded = new ArrayList<String>(rawPasswords.size());
+
+        for(int start = 0; start < rawPasswords.size(); start += poolSize) {
+            var slice = rawPasswords.subList(start, Math.min(start + poolSize, rawPasswords.size()));
+            var futures = new ArrayList<Future<String>>(slice.size());
+
+            for(var rawPassword : slice)
+                futures.add(submitOrRunInline(() -> encodeTimer.record(() -> delegate.encode(rawPassword))));
+
+            for(var future : futures)
+                encoded.add(await(future));
+        }
+
+        return encoded;
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException("Server is busy, try again later");
+        }
+    }
+
+    private <T> Future<T> submitOrRunInline(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            var inline = new FutureTask<>(task);
+            inline.run();
+            return inline;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if(ex.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
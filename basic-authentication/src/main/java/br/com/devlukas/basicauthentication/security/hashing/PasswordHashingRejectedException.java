@@ -0,0 +1,13 @@
+package br.com.devlukas.basicauthentication.security.hashing;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/*
+* Extends AuthenticationServiceException so that a rejection during login
+* reaches the entry point instead of escaping the filter chain.
+*/
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
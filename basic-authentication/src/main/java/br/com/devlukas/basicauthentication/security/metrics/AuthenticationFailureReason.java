@@ -0,0 +1,39 @@
+package br.com.devlukas.basicauthentication.security.metrics;
+
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/*
+* Fixed set of values for the "reason" tag, so failure metrics stay
+* low-cardinality whatever exception is thrown.
+*/
+public enum AuthenticationFailureReason {
+
+    BAD_CREDENTIALS,
+    ACCOUNT_STATUS,
+    INSUFFICIENT_AUTHENTICATION,
+    SERVICE_UNAVAILABLE,
+    OTHER;
+
+    private final String tag = name().toLowerCase();
+
+    public String tag() {
+        return tag;
+    }
+
+    public static AuthenticationFailureReason of(AuthenticationException ex) {
+        if(ex instanceof BadCredentialsException || ex instanceof UsernameNotFoundException)
+            return BAD_CREDENTIALS;
+        if(ex instanceof AccountStatusException)
+            return ACCOUNT_STATUS;
+        if(ex instanceof InsufficientAuthenticationException)
+            return INSUFFICIENT_AUTHENTICATION;
+        if(ex instanceof AuthenticationServiceException)
+            return SERVICE_UNAVAILABLE;
+        return OTHER;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.devlukas.basicauthentication.security.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+* Times the whole provider call (lookup plus password check), tagged with
+* the outcome; the timer counts double as success and failure counts.
+*/
+public class InstrumentedAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer success;
+
+    private final Map<AuthenticationFailureReason, Timer> failures = new EnumMap<>(AuthenticationFailureReason.class);
+
+    public InstrumentedAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.success = Timer.builder("auth.authentication").tags("result", "success", "reason", "none")
+                .register(meterRegistry);
+
+        for(var reason : AuthenticationFailureReason.values())
+            failures.put(reason, Timer.builder("auth.authentication").tags("result", "failure", "reason", reason.tag())
+                    .register(meterRegistry));
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        var sample = Timer.start(meterRegistry);
+        try {
+            var result = delegate.authenticate(authentication);
+            sample.stop(success);
+            return result;
+        } catch (AuthenticationException ex) {
+            sample.stop(failures.get(AuthenticationFailureReason.of(ex)));
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.devlukas.basicauthentication.security.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/*
+* Times every user lookup as seen by the authentication provider, caches
+* included. Timers are created up front so the hot path never touches the
+* registry.
+*/
+public class InstrumentedUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer found;
+
+    private final Timer notFound;
+
+    public InstrumentedUserDetailsService(UserDetailsService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.found = Timer.builder("auth.user.lookup").tag("result", "found").register(meterRegistry);
+        this.notFound = Timer.builder("auth.user.lookup").tag("result", "not_found").register(meterRegistry);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        var sample = Timer.start(meterRegistry);
+        try {
+            var user = delegate.loadUserByUsername(username);
+            sample.stop(found);
+            return user;
+        } catch (UsernameNotFoundException ex) {
+            sample.stop(notFound);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+
+/*
+* Builds a DelegatingPasswordEncoder whose upgradeEncoding() reports every
+* hash that is unprefixed (stored before this encoder existed), uses another
+* algorithm or a lower BCrypt strength, so DaoAuthenticationProvider rehashes
+* it on the next successful login.
+*/
+public final class AdaptivePasswordEncoderFactory {
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String ARGON2 = "argon2";
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePasswordEncoderFactory.class);
+
+    private AdaptivePasswordEncoderFactory() {
+    }
+
+    public static PasswordEncoder create(PasswordEncoderProperties properties) {
+        var strength = properties.calibrate()
+                ? BCryptStrengthCalibrator.calibrate(properties.targetHashLatency(),
+                        properties.minStrength(), properties.maxStrength())
+                : properties.strength();
+
+        log.info("Encoding new passwords with {} (BCrypt strength {})", properties.algorithm(), strength);
+
+        var bcrypt = new BCryptPasswordEncoder(strength);
+        var argon2 = properties.argon2();
+
+        var encoders = new HashMap<String, PasswordEncoder>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(argon2.saltLength(), argon2.hashLength(),
+                argon2.parallelism(), argon2.memoryKib(), argon2.iterations()));
+
+        var encoder = new DelegatingPasswordEncoder(properties.algorithm(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return encoder;
+    }
+}
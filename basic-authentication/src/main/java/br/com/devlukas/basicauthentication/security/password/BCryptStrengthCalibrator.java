@@ -0,0 +1,43 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/*
+* Each BCrypt strength step doubles the work, so the cost at minStrength
+* is measured once and the remaining steps are extrapolated from it.
+*/
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibration_password_1*";
+
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetHashLatency, int minStrength, int maxStrength) {
+        var encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        var samples = new long[SAMPLES];
+        for(int i = 0; i < SAMPLES; i++) {
+            var start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        var estimatedNanos = samples[SAMPLES / 2];
+        var strength = minStrength;
+
+        while(strength < maxStrength && estimatedNanos * 2 <= targetHashLatency.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+
+        return strength;
+    }
+}
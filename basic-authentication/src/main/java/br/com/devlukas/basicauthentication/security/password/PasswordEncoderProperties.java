@@ -0,0 +1,33 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+* algorithm selects the id new hashes are encoded with ("bcrypt" or "argon2").
+* With calibrate on, the BCrypt strength is the highest one in
+* [minStrength, maxStrength] whose hash fits in targetHashLatency on this host,
+* otherwise strength is used as is.
+*/
+@ConfigurationProperties(prefix = "basic-authn.password-encoder")
+public record PasswordEncoderProperties(
+        @DefaultValue("bcrypt") String algorithm,
+        @DefaultValue("true") boolean calibrate,
+        @DefaultValue("100ms") Duration targetHashLatency,
+        @DefaultValue("10") int minStrength,
+        @DefaultValue("16") int maxStrength,
+        @DefaultValue("10") int strength,
+        @DefaultValue Argon2 argon2
+) {
+
+    public record Argon2(
+            @DefaultValue("16") int saltLength,
+            @DefaultValue("32") int hashLength,
+            @DefaultValue("1") int parallelism,
+            @DefaultValue("16384") int memoryKib,
+            @DefaultValue("2") int iterations
+    ) {
+    }
+}
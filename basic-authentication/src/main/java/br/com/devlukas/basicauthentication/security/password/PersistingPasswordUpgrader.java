@@ -0,0 +1,28 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import br.com.devlukas.basicauthentication.service.UserService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+/*
+* Stores the hash DaoAuthenticationProvider produced on login when the
+* previous one was stale.
+*/
+public class PersistingPasswordUpgrader implements UserDetailsPasswordService {
+
+    private final UserService userService;
+
+    public PersistingPasswordUpgrader(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userService.updateEncodedPassword(user.getUsername(), newPassword);
+
+        return User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+* Runs before BasicAuthenticationFilter and turns away Basic logins whose
+* username or client address ran out of attempts, before any user lookup
+* or password hashing happens. The attempt's tokens are reserved here and
+* given back once the rest of the chain authenticated the request.
+*/
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final LoginRateLimiter rateLimiter;
+
+    private final HandlerExceptionResolver resolver;
+
+    public LoginRateLimitFilter(LoginRateLimiter rateLimiter, HandlerExceptionResolver resolver) {
+        this.rateLimiter = rateLimiter;
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        var header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if(header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var username = username(header);
+        var remoteAddress = request.getRemoteAddr();
+        var retryAfterMillis = rateLimiter.reserve(username, remoteAddress);
+
+        if(retryAfterMillis > 0) {
+            var retryAfterSeconds = (retryAfterMillis + 999) / 1000;
+            resolver.resolveException(request, response, null, new LoginRateLimitedException(
+                    "Too many failed login attempts, try again in %d seconds".formatted(retryAfterSeconds),
+                    retryAfterSeconds));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if(authentication instanceof UsernamePasswordAuthenticationToken && authentication.isAuthenticated())
+                rateLimiter.refund(username, remoteAddress);
+            else
+                rateLimiter.recordFailure();
+        }
+    }
+
+    /*
+    * Malformed headers are left for BasicAuthenticationFilter to reject;
+    * only the address limit applies to them.
+    */
+    private static String username(String header) {
+        try {
+            var credentials = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+            var separator = credentials.indexOf(':');
+            return separator == -1 ? null : credentials.substring(0, separator);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+* Every failed login takes a token from the username's bucket and from the
+* client address' bucket; one token comes back per refill interval. rows and
+* width size the shared sketch, rows * width longs per limit.
+*/
+@ConfigurationProperties(prefix = "basic-authn.login-rate-limit")
+public record LoginRateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10") int usernameCapacity,
+        @DefaultValue("1m") Duration usernameRefillInterval,
+        @DefaultValue("100") int addressCapacity,
+        @DefaultValue("1s") Duration addressRefillInterval,
+        @DefaultValue("4") int rows,
+        @DefaultValue("16384") int width
+) {
+}
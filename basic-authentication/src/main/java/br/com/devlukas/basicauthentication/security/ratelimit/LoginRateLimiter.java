@@ -0,0 +1,86 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.LongSupplier;
+
+/*
+* Every Basic login reserves a token from its username's and its client
+* address' bucket before the password is checked, and a successful login
+* gives both back. So only failures use up the limit, a user who keeps
+* typing the right password is never throttled, and concurrent bad attempts
+* cannot all slip through on the last token. The check runs before the
+* password encoder, which is what makes a rejected attempt cheap.
+*/
+public class LoginRateLimiter {
+
+    private final TokenBucketSketch usernames;
+
+    private final TokenBucketSketch addresses;
+
+    private final Counter usernameRejections;
+
+    private final Counter addressRejections;
+
+    private final Counter failures;
+
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.usernames = new TokenBucketSketch(properties.usernameCapacity(),
+                properties.usernameRefillInterval().toMillis(), properties.rows(), properties.width(), clock);
+        this.addresses = new TokenBucketSketch(properties.addressCapacity(),
+                properties.addressRefillInterval().toMillis(), properties.rows(), properties.width(), clock);
+
+        this.usernameRejections = Counter.builder("auth.login.rate-limit.rejections").tag("limit", "username")
+                .register(meterRegistry);
+        this.addressRejections = Counter.builder("auth.login.rate-limit.rejections").tag("limit", "address")
+                .register(meterRegistry);
+        this.failures = Counter.builder("auth.login.rate-limit.failures").register(meterRegistry);
+    }
+
+    /*
+    * 0 when the attempt may go ahead and its tokens are reserved, otherwise
+    * how long the client has to wait; a refused attempt keeps no token.
+    */
+    public long reserve(String username, String remoteAddress) {
+        var addressWait = remoteAddress != null ? addresses.tryConsume(remoteAddress) : 0;
+
+        if(addressWait > 0) {
+            addressRejections.increment();
+            return addressWait;
+        }
+
+        var usernameWait = username != null ? usernames.tryConsume(username) : 0;
+
+        if(usernameWait > 0) {
+            if(remoteAddress != null)
+                addresses.refund(remoteAddress);
+            usernameRejections.increment();
+        }
+
+        return usernameWait;
+    }
+
+    /*
+    * Same answer as reserve, without taking anything.
+    */
+    public long retryAfterMillis(String username, String remoteAddress) {
+        var addressWait = remoteAddress != null ? addresses.retryAfterMillis(remoteAddress) : 0;
+
+        if(addressWait > 0)
+            return addressWait;
+
+        return username != null ? usernames.retryAfterMillis(username) : 0;
+    }
+
+    public void refund(String username, String remoteAddress) {
+        if(username != null)
+            usernames.refund(username);
+        if(remoteAddress != null)
+            addresses.refund(remoteAddress);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/*
+* Token buckets for an unbounded key space in a fixed rows x width array of
+* longs, laid out like a count-min sketch. Each cell holds the bucket's
+* theoretical arrival time (GCRA): consuming a token pushes it one refill
+* interval further, and the passing of time refills the bucket on its own,
+* so there is nothing to sweep or expire.
+*
+* Keys that collide share a cell, which can only make a bucket look emptier
+* than it is; the smallest cell across the rows is the estimate. Each row is
+* updated with its own CAS, so concurrent failures are never lost and no
+* lock is taken.
+*/
+public final class TokenBucketSketch {
+
+    private final AtomicLongArray cells;
+
+    private final int rows;
+
+    private final int widthMask;
+
+    private final long refillMillis;
+
+    private final long burstMillis;
+
+    private final LongSupplier clock;
+
+    private final long seed;
+
+    public TokenBucketSketch(int capacity, long refillMillis, int rows, int width, LongSupplier clock) {
+        if(capacity < 1 || refillMillis < 1 || rows < 1 || width < 1)
+            throw new IllegalArgumentException("capacity, refill interval, rows and width must be positive");
+
+        var roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+
+        this.cells = new AtomicLongArray(rows * roundedWidth);
+        this.rows = rows;
+        this.widthMask = roundedWidth - 1;
+        this.refillMillis = refillMillis;
+        this.burstMillis = (capacity - 1) * refillMillis;
+        this.clock = clock;
+        this.seed = new SecureRandom().nextLong();
+    }
+
+    /*
+    * 0 when the key still has a token, otherwise how long until it has one.
+    */
+    public long retryAfterMillis(String key) {
+        var now = clock.getAsLong();
+        var hash = hash(key);
+        var arrival = Long.MAX_VALUE;
+
+        for(int row = 0; row < rows; row++)
+            arrival = Math.min(arrival, cells.get(index(hash, row)));
+
+        return Math.max(0, arrival - now - burstMillis);
+    }
+
+    public void consume(String key) {
+        var now = clock.getAsLong();
+        var hash = hash(key);
+
+        for(int row = 0; row < rows; row++)
+            cells.getAndUpdate(index(hash, row), arrival -> Math.max(arrival, now) + refillMillis);
+    }
+
+    /*
+    * Takes a token and returns 0 when the key has one, otherwise takes
+    * nothing and returns how long until it has one. The token is taken
+    * first and given back when it was not there, so of many concurrent
+    * callers at most the remaining tokens get through.
+    */
+    public long tryConsume(String key) {
+        var now = clock.getAsLong();
+        var hash = hash(key);
+        var arrival = Long.MAX_VALUE;
+
+        for(int row = 0; row < rows; row++)
+            arrival = Math.min(arrival,
+                    cells.updateAndGet(index(hash, row), cell -> Math.max(cell, now) + refillMillis));
+
+        var wait = arrival - refillMillis - now - burstMillis;
+
+        if(wait > 0) {
+            refund(hash);
+            return wait;
+        }
+
+        return 0;
+    }
+
+    /*
+    * Gives back a token taken by consume or tryConsume.
+    */
+    public void refund(String key) {
+        refund(hash(key));
+    }
+
+    private void refund(long hash) {
+        for(int row = 0; row < rows; row++)
+            cells.getAndAdd(index(hash, row), -refillMillis);
+    }
+
+    private int index(long hash, int row) {
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32) | 1;
+        return row * (widthMask + 1) + ((h1 + row * h2) & widthMask);
+    }
+
+    private long hash(String key) {
+        var hash = seed;
+        for(int i = 0; i < key.length(); i++)
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
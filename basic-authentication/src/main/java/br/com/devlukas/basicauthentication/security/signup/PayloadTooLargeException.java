@@ -0,0 +1,13 @@
+package br.com.devlukas.basicauthentication.security.signup;
+
+import java.io.IOException;
+
+/*
+* An IOException so that, thrown from the request stream while Jackson is
+* reading it, it surfaces as the cause of HttpMessageNotReadableException.
+*/
+public class PayloadTooLargeException extends IOException {
+    public PayloadTooLargeException(long maxBytes) {
+        super("Request body cannot be larger than %d bytes".formatted(maxBytes));
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.devlukas.basicauthentication.security.signup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/*
+* Caps the signup body before it is parsed: a declared Content-Length over
+* the limit is refused right away, and a chunked body is cut off by the
+* stream as soon as it goes past the limit, in the middle of parsing.
+*/
+public class SignupPayloadLimitFilter extends OncePerRequestFilter {
+
+    private final RequestMatcher signupRequest;
+
+    private final long maxBytes;
+
+    private final HandlerExceptionResolver resolver;
+
+    public SignupPayloadLimitFilter(RequestMatcher signupRequest, long maxBytes, HandlerExceptionResolver resolver) {
+        this.signupRequest = signupRequest;
+        this.maxBytes = maxBytes;
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !signupRequest.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if(request.getContentLengthLong() > maxBytes) {
+            resolver.resolveException(request, response, null, new PayloadTooLargeException(maxBytes));
+            return;
+        }
+
+        filterChain.doFilter(new LimitedRequest(request, maxBytes), response);
+    }
+
+    private static class LimitedRequest extends HttpServletRequestWrapper {
+
+        private final long maxBytes;
+
+        private ServletInputStream inputStream;
+
+        private LimitedRequest(HttpServletRequest request, long maxBytes) {
+            super(request);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if(inputStream == null)
+                inputStream = new LimitedInputStream(super.getInputStream(), maxBytes);
+            return inputStream;
+        }
+    }
+
+    private static class LimitedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private final long maxBytes;
+
+        private long read;
+
+        private LimitedInputStream(ServletInputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = delegate.read();
+            if(b != -1)
+                count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var n = delegate.read(buffer, offset, length);
+            if(n > 0)
+                count(n);
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        private void count(int n) throws PayloadTooLargeException {
+            read += n;
+            if(read > maxBytes)
+                throw new PayloadTooLargeException(maxBytes);
+        }
+    }
+}
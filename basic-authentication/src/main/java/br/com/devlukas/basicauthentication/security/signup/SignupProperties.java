@@ -0,0 +1,11 @@
+package br.com.devlukas.basicauthentication.security.signup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "basic-authn.signup")
+public record SignupProperties(
+        @DefaultValue("1KB") DataSize maxBodySize
+) {
+}
@@ -0,0 +1,81 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+* Authenticates "Authorization: Bearer <token>" requests from the token
+* signature alone, without touching the database or the password encoder.
+* Outcomes are published like those of a Basic login, so token logins show
+* up in the audit log too.
+*/
+public class SessionTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+
+    private final AuthenticationEventPublisher eventPublisher;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public SessionTokenAuthenticationFilter(SessionTokenService sessionTokenService,
+                                            AuthenticationEntryPoint authenticationEntryPoint,
+                                            AuthenticationEventPublisher eventPublisher) {
+        this.sessionTokenService = sessionTokenService;
+        this.authenticationEntryPoint = authenticationEntryPoint;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        var header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if(header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var username = sessionTokenService.verify(header.substring(BEARER_PREFIX.length()));
+
+        if(username == null) {
+            var failure = new BadCredentialsException("Invalid session token");
+            var attempt = UsernamePasswordAuthenticationToken.unauthenticated(null, null);
+            attempt.setDetails(detailsSource.buildDetails(request));
+
+            SecurityContextHolder.clearContext();
+            eventPublisher.publishAuthenticationFailure(failure, attempt);
+            authenticationEntryPoint.commence(request, response, failure);
+            return;
+        }
+
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(username, null,
+                AuthorityUtils.NO_AUTHORITIES);
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        eventPublisher.publishAuthenticationSuccess(authentication);
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+* Runs right after BasicAuthenticationFilter and hands a session token back
+* to clients that just authenticated with Basic credentials.
+*/
+public class SessionTokenIssuingFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final SessionTokenService sessionTokenService;
+
+    private final String headerName;
+
+    public SessionTokenIssuingFilter(SessionTokenService sessionTokenService, String headerName) {
+        this.sessionTokenService = sessionTokenService;
+        this.headerName = headerName;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        var header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if(header != null && header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())
+                && authentication instanceof UsernamePasswordAuthenticationToken
+                && authentication.isAuthenticated()) {
+            response.setHeader(headerName, sessionTokenService.issue(authentication.getName()));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+* keys holds every HMAC key that is still accepted (base64 secrets of at
+* least 32 bytes, ids 0-255), activeKeyId the one new tokens are signed with.
+* Rotating means adding the new key, switching activeKeyId and dropping the
+* old key after one ttl.
+* Without keys a random one is generated, which only works for a single node.
+*/
+@ConfigurationProperties(prefix = "basic-authn.session-token")
+public record SessionTokenProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("15m") Duration ttl,
+        @DefaultValue("X-Auth-Token") String headerName,
+        @DefaultValue("0") int activeKeyId,
+        @DefaultValue List<Key> keys
+) {
+
+    public record Key(int id, String secret) {
+    }
+}
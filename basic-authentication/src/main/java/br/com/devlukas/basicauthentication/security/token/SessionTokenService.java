@@ -0,0 +1,203 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.invalidation.RemoteCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/*
+* Compact HMAC-SHA256 signed token, base64url encoded:
+*
+*   version (1) | key id (1) | issued at, epoch millis (8) | username (utf-8) | mac (32)
+*
+* A token expires ttl after it was issued. When the credentials of a user
+* change, every token issued to them up to that moment is rejected; the
+* change is remembered for one ttl, after which those tokens expired anyway.
+*
+* Verification keeps one Mac per key and thread, so apart from decoding the
+* token and the username string it does not allocate.
+*/
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final byte VERSION = 2;
+
+    private static final int HEADER_LENGTH = 10;
+
+    private static final int MAC_LENGTH = 32;
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final SecretKeySpec[] keys = new SecretKeySpec[256];
+
+    private final int activeKeyId;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final ThreadLocal<Macs> macs = ThreadLocal.withInitial(Macs::new);
+
+    private final Cache<String, Long> credentialsChangedAt;
+
+    public SessionTokenService(SessionTokenProperties properties, Clock clock) {
+        this.activeKeyId = properties.activeKeyId();
+        this.ttl = properties.ttl();
+        this.clock = clock;
+        this.credentialsChangedAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+
+        for(var key : properties.keys())
+            keys[checkKeyId(key.id())] = new SecretKeySpec(decodeSecret(key), ALGORITHM);
+
+        if(properties.keys().isEmpty()) {
+            var secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys[checkKeyId(activeKeyId)] = new SecretKeySpec(secret, ALGORITHM);
+        }
+
+        if(keys[checkKeyId(activeKeyId)] == null)
+            throw new IllegalArgumentException("No session token key configured with id " + activeKeyId);
+    }
+
+    public String issue(String username) {
+        var name = username.getBytes(StandardCharsets.UTF_8);
+        var token = new byte[HEADER_LENGTH + name.length + MAC_LENGTH];
+        var issuedAt = clock.millis();
+
+        token[0] = VERSION;
+        token[1] = (byte) activeKeyId;
+        for(int i = 0; i < 8; i++)
+            token[2 + i] = (byte) (issuedAt >>> (56 - 8 * i));
+        System.arraycopy(name, 0, token, HEADER_LENGTH, name.length);
+
+        var mac = macs.get().forKey(activeKeyId);
+        mac.update(token, 0, HEADER_LENGTH + name.length);
+        doFinal(mac, token, HEADER_LENGTH + name.length);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /*
+    * Returns the username of a valid, unexpired and unrevoked token, or null.
+    */
+    public String verify(String encodedToken) {
+        byte[] token;
+        try {
+            token = Base64.getUrlDecoder().decode(encodedToken);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        if(token.length <= HEADER_LENGTH + MAC_LENGTH || token[0] != VERSION)
+            return null;
+
+        var keyId = token[1] & 0xFF;
+        if(keys[keyId] == null)
+            return null;
+
+        long issuedAt = 0;
+        for(int i = 0; i < 8; i++)
+            issuedAt = (issuedAt << 8) | (token[2 + i] & 0xFF);
+
+        if(issuedAt + ttl.toMillis() < clock.millis())
+            return null;
+
+        var payloadLength = token.length - MAC_LENGTH;
+        var threadMacs = macs.get();
+        var mac = threadMacs.forKey(keyId);
+        mac.update(token, 0, payloadLength);
+        doFinal(mac, threadMacs.expected, 0);
+
+        var difference = 0;
+        for(int i = 0; i < MAC_LENGTH; i++)
+            difference |= threadMacs.expected[i] ^ token[payloadLength + i];
+
+        if(difference != 0)
+            return null;
+
+        var username = new String(token, HEADER_LENGTH, payloadLength - HEADER_LENGTH, StandardCharsets.UTF_8);
+
+        var changedAt = credentialsChangedAt.getIfPresent(username);
+        if(changedAt != null && issuedAt < changedAt)
+            return null;
+
+        return username;
+    }
+
+    /*
+    * Rejects every token issued to the user before now. A token issued in
+    * the same millisecond stays valid, it is usually the one the login that
+    * rehashed the password is about to hand out.
+    */
+    public void revoke(String username) {
+        credentialsChangedAt.put(username, clock.millis());
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        revoke(event.email());
+    }
+
+    @EventListener
+    public void onRemoteCredentialsChanged(RemoteCredentialsChangedEvent event) {
+        event.emails().forEach(this::revoke);
+    }
+
+    private static void doFinal(Mac mac, byte[] output, int offset) {
+        try {
+            mac.doFinal(output, offset);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to sign session token", ex);
+        }
+    }
+
+    private static byte[] decodeSecret(SessionTokenProperties.Key key) {
+        var secret = Base64.getDecoder().decode(key.secret());
+
+        if(secret.length < MIN_SECRET_LENGTH)
+            throw new IllegalArgumentException("Session token key %d must be at least %d bytes, got %d"
+                    .formatted(key.id(), MIN_SECRET_LENGTH, secret.length));
+
+        return secret;
+    }
+
+    private static int checkKeyId(int keyId) {
+        if(keyId < 0 || keyId > 255)
+            throw new IllegalArgumentException("Session token key ids must be between 0 and 255");
+        return keyId;
+    }
+
+    private final class Macs {
+
+        private final Mac[] byKeyId = new Mac[256];
+
+        private final byte[] expected = new byte[MAC_LENGTH];
+
+        Mac forKey(int keyId) {
+            var mac = byKeyId[keyId];
+            if(mac == null) {
+                try {
+                    mac = Mac.getInstance(ALGORITHM);
+                    mac.init(keys[keyId]);
+                } catch (GeneralSecurityException ex) {
+                    throw new IllegalStateException("Unable to initialize session token key " + keyId, ex);
+                }
+                byKeyId[keyId] = mac;
+            }
+            return mac;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.devlukas.basicauthentication.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "basic-authn.batch-signup")
+public record BatchRegistrationProperties(
+        @DefaultValue("10000") int maxRecords,
+        @DefaultValue("2MB") DataSize maxBodySize
+) {
+}
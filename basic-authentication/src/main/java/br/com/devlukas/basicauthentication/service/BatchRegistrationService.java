@@ -0,0 +1,203 @@
+package br.com.devlukas.basicauthentication.service;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO.RecordError;
+import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthentication.repository.UniqueEmailViolation;
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilter;
+import br.com.devlukas.basicauthentication.security.hashing.PasswordHashingExecutor;
+import br.com.devlukas.basicauthentication.security.signup.PayloadTooLargeException;
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.exceptions.BatchTooLargeException;
+import br.com.devlukas.basicauthentication.service.exceptions.BreachedPasswordException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/*
+* Streams NDJSON (or a JSON array) of signup records and registers them in
+* chunks: one existence query per chunk, parallel hashing, and a batched
+* insert per chunk. Records that fail are reported by their position in the
+* input and never abort the rest of the batch. A batch over max-records, or
+* a body cut off at max-body-size, stops with BatchTooLargeException.
+*/
+@Service
+public class BatchRegistrationService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserStore userStore;
+
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    private final Validator validator;
+
+    private final ObjectReader reader;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BreachedPasswordFilter breachedPasswordFilter;
+
+    private final int maxRecords;
+
+    public BatchRegistrationService(UserStore userStore,
+                                    PasswordHashingExecutor passwordHashingExecutor,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectProvider<BreachedPasswordFilter> breachedPasswordFilter,
+                                    BatchRegistrationProperties properties) {
+        this.userStore = userStore;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(UserRequestBodyDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.breachedPasswordFilter = breachedPasswordFilter.getIfAvailable();
+        this.maxRecords = properties.maxRecords();
+    }
+
+    public BatchRegistrationResultDTO registerUsers(InputStream input) throws IOException {
+        var errors = new ArrayList<RecordError>();
+        var seenEmails = new HashSet<String>();
+        var chunk = new ArrayList<IndexedRecord>(CHUNK_SIZE);
+        var received = 0;
+        var registered = 0;
+
+        try (var records = reader.<UserRequestBodyDTO>readValues(input)) {
+            while(true) {
+                UserRequestBodyDTO record;
+                try {
+                    if(!records.hasNextValue())
+                        break;
+                    if(received == maxRecords)
+                        throw new BatchTooLargeException(
+                                "Batch cannot have more than %d records".formatted(maxRecords), registered);
+                    record = records.nextValue();
+                } catch (JsonProcessingException ex) {
+                    errors.add(new RecordError(received, null, List.of("Malformed record, batch stopped here")));
+                    break;
+                } catch (PayloadTooLargeException ex) {
+                    throw new BatchTooLargeException(ex.getMessage(), registered);
+                }
+
+                var index = received++;
+
+                if(record == null) {
+                    errors.add(new RecordError(index, null, List.of("Malformed record")));
+                    continue;
+                }
+
+                var violations = validator.validate(record);
+
+                if(!violations.isEmpty()) {
+                    errors.add(new RecordError(index, record.username(),
+                            violations.stream().map(ConstraintViolation::getMessage).toList()));
+                    continue;
+                }
+
+                if(breachedPasswordFilter != null && breachedPasswordFilter.mightContain(record.password())) {
+                    errors.add(new RecordError(index, record.username(),
+                            List.of(new BreachedPasswordException().getMessage())));
+                    continue;
+                }
+
+                if(!seenEmails.add(record.username())) {
+                    errors.add(new RecordError(index, record.username(),
+                            List.of("%s duplicated in batch.".formatted(record.username()))));
+                    continue;
+                }
+
+                chunk.add(new IndexedRecord(index, record));
+
+                if(chunk.size() == CHUNK_SIZE) {
+                    registered += registerChunk(chunk, errors);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if(!chunk.isEmpty())
+            registered += registerChunk(chunk, errors);
+
+        return new BatchRegistrationResultDTO(received, registered, errors);
+    }
+
+    private int registerChunk(List<IndexedRecord> chunk, List<RecordError> errors) {
+        var existingEmails = userStore.findExistingEmails(chunk.stream().map(r -> r.record().username()).toList());
+
+        var pending = new ArrayList<IndexedRecord>(chunk.size());
+        for(var record : chunk) {
+            if(existingEmails.contains(record.record().username()))
+                errors.add(alreadyRegistered(record));
+            else
+                pending.add(record);
+        }
+
+        if(pending.isEmpty())
+            return 0;
+
+        var encodedPasswords = passwordHashingExecutor.encodeAll(
+                pending.stream().map(r -> r.record().password()).toList());
+
+        var users = new ArrayList<User>(pending.size());
+        for(int i = 0; i < pending.size(); i++)
+            users.add(new User(pending.get(i).record().username(), encodedPasswords.get(i)));
+
+        try {
+            userStore.insertAll(users);
+            users.forEach(this::publishCredentialsChanged);
+            return users.size();
+        } catch (DataIntegrityViolationException ex) {
+            return registerOneByOne(pending, users, errors);
+        }
+    }
+
+    /*
+    * Someone registered one of the emails between the existence query and
+    * the insert; retry the chunk row by row to find out which.
+    */
+    private int registerOneByOne(List<IndexedRecord> pending, List<User> users, List<RecordError> errors) {
+        var registered = 0;
+
+        for(int i = 0; i < users.size(); i++) {
+            var user = new User(users.get(i).getEmail(), users.get(i).getPassword());
+            try {
+                userStore.insert(user);
+                publishCredentialsChanged(user);
+                registered++;
+            } catch (DataIntegrityViolationException ex) {
+                if(!UniqueEmailViolation.isCauseOf(ex))
+                    throw ex;
+                errors.add(alreadyRegistered(pending.get(i)));
+            }
+        }
+
+        return registered;
+    }
+
+    private void publishCredentialsChanged(User user) {
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getEmail()));
+    }
+
+    private static RecordError alreadyRegistered(IndexedRecord record) {
+        return new RecordError(record.index(), record.record().username(),
+                List.of("%s already registered.".formatted(record.record().username())));
+    }
+
+    private record IndexedRecord(int index, UserRequestBodyDTO record) {
+    }
+}
@@ -1,32 +1,64 @@
 package br.com.devlukas.basicauthentication.service;
 
 import br.com.devlukas.basicauthentication.domain.User;
-import br.com.devlukas.basicauthentication.repository.UserRepository;
+import br.com.devlukas.basicauthentication.repository.UniqueEmailViolation;
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilter;
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import br.com.devlukas.basicauthentication.service.exceptions.BreachedPasswordException;
 import br.com.devlukas.basicauthentication.service.exceptions.UserAlreadyRegisteredException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
 
-    private final UserRepository repository;
+    private final UserStore userStore;
 
     private final PasswordEncoder passwordEncoder;
 
-    public UserService(UserRepository repository, PasswordEncoder passwordEncoder) {
-        this.repository = repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BreachedPasswordFilter breachedPasswordFilter;
+
+    public UserService(UserStore userStore, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher,
+                       ObjectProvider<BreachedPasswordFilter> breachedPasswordFilter) {
+        this.userStore = userStore;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.breachedPasswordFilter = breachedPasswordFilter.getIfAvailable();
     }
 
+    /*
+    * Goes straight to the insert and lets the unique constraint on email
+    * reject duplicates, which also covers concurrent signups of the same email.
+    * The breach check comes first, it is far cheaper than hashing.
+    */
     public void registerUser(User user) {
-        var existingUser = repository.findByEmail(user.getEmail());
-
-        if(existingUser.isPresent())
-            throw new UserAlreadyRegisteredException("%s already registered.".formatted(user.getEmail()));
+        if(breachedPasswordFilter != null && breachedPasswordFilter.mightContain(user.getPassword()))
+            throw new BreachedPasswordException();
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        repository.save(user);
+        try {
+            userStore.insert(user);
+        } catch (DataIntegrityViolationException ex) {
+            if(UniqueEmailViolation.isCauseOf(ex))
+                throw new UserAlreadyRegisteredException("%s already registered.".formatted(user.getEmail()));
+            throw ex;
+        }
+
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getEmail()));
+    }
+
+    public void updateEncodedPassword(String email, String encodedPassword) {
+        userStore.updatePassword(email, encodedPassword);
+
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(email));
     }
 
 }
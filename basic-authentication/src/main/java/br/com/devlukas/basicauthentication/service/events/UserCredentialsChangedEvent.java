@@ -0,0 +1,8 @@
+package br.com.devlukas.basicauthentication.service.events;
+
+/*
+* Published whenever the stored credentials of an email change
+* (registration, password update), so cached authentication state can be dropped.
+*/
+public record UserCredentialsChangedEvent(String email) {
+}
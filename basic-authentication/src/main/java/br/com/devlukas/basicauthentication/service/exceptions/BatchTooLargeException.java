@@ -0,0 +1,11 @@
+package br.com.devlukas.basicauthentication.service.exceptions;
+
+/*
+* Chunks before the limit are already committed, so the message says how
+* many records were registered before the batch was stopped.
+*/
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String reason, int registered) {
+        super("%s, %d records were registered before the batch was stopped.".formatted(reason, registered));
+    }
+}
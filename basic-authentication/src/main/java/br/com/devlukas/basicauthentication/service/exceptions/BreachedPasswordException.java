@@ -0,0 +1,7 @@
+package br.com.devlukas.basicauthentication.service.exceptions;
+
+public class BreachedPasswordException extends RuntimeException {
+    public BreachedPasswordException() {
+        super("Password has appeared in a data breach, choose a different one.");
+    }
+}
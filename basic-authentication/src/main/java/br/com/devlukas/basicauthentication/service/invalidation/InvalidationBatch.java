@@ -0,0 +1,10 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import java.util.List;
+
+/*
+* One message on the invalidation bus: the emails a node wrote since its
+* previous flush, each listed once.
+*/
+public record InvalidationBatch(String origin, List<String> emails) {
+}
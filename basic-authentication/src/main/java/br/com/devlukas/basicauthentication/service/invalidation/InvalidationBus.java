@@ -0,0 +1,140 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/*
+* Broadcasts local credential writes to the other nodes and turns their
+* broadcasts into RemoteCredentialsChangedEvent here.
+*
+* Writes only mark the email as pending; a single thread sends the pending
+* set every flush interval, or as soon as a full batch is waiting. An email
+* written many times within one interval goes out once, and it is always
+* sent after the write that marked it, so receivers reload fresh data.
+*/
+public class InvalidationBus implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final InvalidationTransport transport;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxBatchSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("credential-invalidation-"));
+
+    private final Consumer<InvalidationBatch> subscriber = this::onBatch;
+
+    private final Counter sentEmails;
+
+    private final Counter sentBatches;
+
+    private final Counter receivedEmails;
+
+    public InvalidationBus(InvalidationTransport transport,
+                           InvalidationProperties properties,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = properties.maxBatchSize();
+
+        this.sentEmails = Counter.builder("auth.invalidation.emails").tag("direction", "sent").register(meterRegistry);
+        this.sentBatches = Counter.builder("auth.invalidation.batches").tag("direction", "sent").register(meterRegistry);
+        this.receivedEmails = Counter.builder("auth.invalidation.emails").tag("direction", "received")
+                .register(meterRegistry);
+
+        transport.subscribe(subscriber);
+
+        var interval = properties.flushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        pending.add(event.email());
+
+        if(scheduler.isShutdown()) {
+            flush();
+            return;
+        }
+
+        if(pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException ex) {
+                flush();
+            }
+        }
+    }
+
+    /*
+    * Runs on the scheduler thread, and on the writing thread once the
+    * scheduler is shut down, so writes during shutdown still go out.
+    */
+    synchronized void flush() {
+        flushRequested.set(false);
+
+        while(!pending.isEmpty()) {
+            var emails = new ArrayList<String>(Math.min(pending.size(), maxBatchSize));
+            var iterator = pending.iterator();
+            while(iterator.hasNext() && emails.size() < maxBatchSize) {
+                emails.add(iterator.next());
+                iterator.remove();
+            }
+
+            try {
+                transport.publish(new InvalidationBatch(nodeId, emails));
+            } catch (RuntimeException ex) {
+                log.warn("Could not publish {} credential invalidations, retrying on next flush", emails.size(), ex);
+                pending.addAll(emails);
+                return;
+            }
+
+            sentBatches.increment();
+            sentEmails.increment(emails.size());
+        }
+    }
+
+    private void onBatch(InvalidationBatch batch) {
+        if(nodeId.equals(batch.origin()))
+            return;
+
+        receivedEmails.increment(batch.emails().size());
+        eventPublisher.publishEvent(new RemoteCredentialsChangedEvent(batch.emails()));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        transport.unsubscribe(subscriber);
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+@ConditionalOnProperty(prefix = "basic-authn.invalidation", name = "enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InvalidationTransport invalidationTransport(InvalidationProperties properties) {
+        return new LoopbackInvalidationTransport(properties.channel());
+    }
+
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationTransport transport,
+                                           InvalidationProperties properties,
+                                           ApplicationEventPublisher eventPublisher,
+                                           MeterRegistry meterRegistry) {
+        return new InvalidationBus(transport, properties, eventPublisher, meterRegistry);
+    }
+
+    /*
+    * The bus subscribes to the transport when it is created, a lazy bus
+    * would miss every remote invalidation sent before its first local use.
+    */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInvalidationBus() {
+        return LazyInitializationExcludeFilter.forBeanTypes(InvalidationBus.class);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/*
+* Writes are collected for flushInterval, or until maxBatchSize distinct
+* emails are pending, before one batch goes out.
+*/
+@ConfigurationProperties(prefix = "basic-authn.invalidation")
+public record InvalidationProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("basic-authn") String channel,
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("500") int maxBatchSize
+) {
+}
@@ -0,0 +1,18 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import java.util.function.Consumer;
+
+/*
+* Carries invalidation batches between nodes. Every node receives every
+* batch, its own included. Declare a bean of this type to plug in a real
+* broker (Redis pub/sub, Kafka, JMS ...); without one the loopback
+* transport is used.
+*/
+public interface InvalidationTransport {
+
+    void publish(InvalidationBatch batch);
+
+    void subscribe(Consumer<InvalidationBatch> subscriber);
+
+    void unsubscribe(Consumer<InvalidationBatch> subscriber);
+}
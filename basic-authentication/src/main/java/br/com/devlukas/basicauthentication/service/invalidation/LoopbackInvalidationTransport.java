@@ -0,0 +1,38 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/*
+* Delivers batches synchronously to every subscriber of the same channel in
+* this JVM, so several application contexts can play the nodes of a cluster
+* in tests or local runs.
+*/
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, List<Consumer<InvalidationBatch>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Consumer<InvalidationBatch>> subscribers;
+
+    public LoopbackInvalidationTransport(String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        subscribers.forEach(subscriber -> subscriber.accept(batch));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(Consumer<InvalidationBatch> subscriber) {
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import java.util.List;
+
+/*
+* Credentials changed on another node. Kept apart from
+* UserCredentialsChangedEvent so that handling it never broadcasts again.
+*/
+public record RemoteCredentialsChangedEvent(List<String> emails) {
+}
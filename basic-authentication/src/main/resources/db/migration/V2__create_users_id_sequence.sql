@@ -0,0 +1,2 @@
+-- Sequence backed ids (allocation size 50) so Hibernate can batch user inserts.
+CREATE SEQUENCE users_id_seq START WITH 1 INCREMENT BY 50;
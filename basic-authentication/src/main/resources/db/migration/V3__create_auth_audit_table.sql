@@ -0,0 +1,11 @@
+CREATE TABLE auth_audit (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+   occurred_at TIMESTAMP NOT NULL,
+   outcome VARCHAR(16) NOT NULL,
+   username VARCHAR(255),
+   remote_address VARCHAR(64),
+   reason VARCHAR(64),
+   CONSTRAINT pk_auth_audit PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_auth_audit_username_occurred_at ON auth_audit (username, occurred_at);
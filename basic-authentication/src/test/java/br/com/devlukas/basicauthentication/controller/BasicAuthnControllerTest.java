@@ -133,6 +133,21 @@ class BasicAuthnControllerTest {
         Assertions.assertThat(exceptionBody.localDateTime()).isNotNull();
     }
 
+    @Test
+    public void singUp_shouldReturnStatusCode413_whenBodyIsLargerThanLimit() throws JsonProcessingException {
+        var oversizedUser = new UserRequestBodyDTO("valid_user_email@email.com", "Valid_password_1*" + "a".repeat(2048));
+        ResponseEntity<String> exchange = testRestTemplate
+                .postForEntity(BASE_URL + "/singup", oversizedUser, String.class);
+
+        var responseBody = exchange.getBody();
+        var exceptionBody = objectMapper.readValue(responseBody, ExceptionDetailsBody.class);
+
+        Assertions.assertThat(exceptionBody.path()).isEqualTo(BASE_URL + "/singup");
+        Assertions.assertThat(exceptionBody.messages()).isEqualTo(List.of("Request body cannot be larger than 1024 bytes"));
+        Assertions.assertThat(exceptionBody.statusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        Assertions.assertThat(userRepository.count()).isZero();
+    }
+
     @Test
     public void onlyAuthenticated_shouldReturnPrivateMessage_whenUserIsSuccessfullyAuthenticated() {
         var username = "valid_user_email@email.com";
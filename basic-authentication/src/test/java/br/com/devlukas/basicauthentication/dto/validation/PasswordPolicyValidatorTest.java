@@ -0,0 +1,96 @@
+package br.com.devlukas.basicauthentication.dto.validation;
+
+import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+class PasswordPolicyValidatorTest {
+
+    private static final String USERNAME = "valid_user_email@email.com";
+
+    private static final String POLICY_MESSAGE =
+            "Password requires at least 8 characters, with numbers, upper and lower case letters and special characters";
+
+    /*
+    * The regex @ValidPassword replaced; both must agree on every input.
+    */
+    private static final Pattern PREVIOUS_POLICY =
+            Pattern.compile("^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+{}\\[\\]:;<>,.?~\\\\-]).{8,}$");
+
+    private static final String ALPHABET =
+            "Aa1!zZ9\\-[]{}~`'\"|/= \t\n\r\u0085\u2028\u2029\u00e9\u20ac\ud83d\ude00\ud83d";
+
+    private static ValidatorFactory validatorFactory;
+
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    public void isValid_shouldMatchPreviousRegex_forRandomPasswords() {
+        var random = new Random(42);
+
+        for(int i = 0; i < 50_000; i++) {
+            var password = randomPassword(random);
+            if(password.getBytes(StandardCharsets.UTF_8).length > 72)
+                continue;
+
+            Assertions.assertThat(validate(password).isEmpty())
+                    .as("password %s", password.chars().mapToObj(Integer::toHexString).toList())
+                    .isEqualTo(PREVIOUS_POLICY.matcher(password).matches());
+        }
+    }
+
+    @Test
+    public void isValid_shouldKeepPolicyMessage_whenPasswordIsWeak() {
+        Assertions.assertThat(validate("invalid_password"))
+                .extracting(ConstraintViolation::getMessage)
+                .containsExactly(POLICY_MESSAGE);
+    }
+
+    @Test
+    public void isValid_shouldRejectPassword_whenLongerThan72Bytes() {
+        Assertions.assertThat(validate("Valid_password_1*" + "a".repeat(55))).isEmpty();
+        Assertions.assertThat(validate("Valid_password_1*" + "a".repeat(100_000)))
+                .extracting(ConstraintViolation::getMessage)
+                .containsExactly("Password cannot be longer than 72 bytes");
+    }
+
+    private static Set<ConstraintViolation<UserRequestBodyDTO>> validate(String password) {
+        return validator.validateProperty(new UserRequestBodyDTO(USERNAME, password), "password");
+    }
+
+    private static String randomPassword(Random random) {
+        var length = random.nextInt(16);
+        var password = new StringBuilder(length);
+
+        for(int i = 0; i < length; i++) {
+            if(random.nextInt(4) == 0)
+                password.append((char) random.nextInt(0x3000));
+            else
+                password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+
+        return password.toString();
+    }
+}
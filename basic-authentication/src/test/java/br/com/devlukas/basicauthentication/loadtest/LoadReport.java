@@ -0,0 +1,39 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+import java.util.Map;
+
+/*
+* One measured run, written as JSON under target/load-test so runs of
+* different builds can be diffed. Shed requests (429, 503) are the server
+* refusing work by design and are counted apart from errors. Allocation
+* covers every thread but the load generators, which leaves Tomcat, the
+* application and the HTTP client's selector thread.
+*/
+record LoadReport(
+        String scenario,
+        Map<String, Integer> mix,
+        int concurrency,
+        double durationSeconds,
+        long requests,
+        long errors,
+        long shed,
+        double throughputPerSecond,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double allocationMegabytesPerSecond,
+        long allocatedBytesPerRequest,
+        Map<String, OperationReport> operations
+) {
+
+    record OperationReport(
+            long requests,
+            long errors,
+            long shed,
+            Map<Integer, Long> statuses,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis
+    ) {
+    }
+}
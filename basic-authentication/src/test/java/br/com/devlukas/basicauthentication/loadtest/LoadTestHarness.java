@@ -0,0 +1,307 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+import br.com.devlukas.basicauthentication.BasicAuthenticationApplication;
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+* Boots the application on a random port with a set of registered users and
+* drives it from an in-process HTTP client with a mix of operations. Each
+* load generator sends its next request as soon as the previous one
+* answers (closed loop), so latencies are those of a saturated server and
+* the throughput is the most it sustains at that concurrency.
+*/
+final class LoadTestHarness implements AutoCloseable {
+
+    static final String BASE_URL = "/api/v1/basic-authn";
+
+    static final String PASSWORD = "Valid_password_1*";
+
+    private static final String WRONG_PASSWORD = "Wrong_password_1*";
+
+    private static final Set<Integer> SHED_STATUSES = Set.of(429, 503);
+
+    private static final int IO_ERROR = 0;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String name;
+
+    private final ConfigurableApplicationContext context;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final URI loginUri;
+
+    private final URI signupUri;
+
+    private final HttpRequest[] validLogins;
+
+    private final HttpRequest[] badPasswords;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTestHarness(String name, ConfigurableApplicationContext context, int users) {
+        this.name = name;
+        this.context = context;
+
+        var port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        this.loginUri = URI.create("http://localhost:%d%s".formatted(port, BASE_URL));
+        this.signupUri = URI.create("http://localhost:%d%s/singup".formatted(port, BASE_URL));
+
+        var userService = context.getBean(UserService.class);
+        this.validLogins = new HttpRequest[users];
+        this.badPasswords = new HttpRequest[users];
+        for(int i = 0; i < users; i++) {
+            var username = "load_user_%d@email.com".formatted(i);
+            userService.registerUser(new User(username, PASSWORD));
+            validLogins[i] = login(username, PASSWORD);
+            badPasswords[i] = login(username, WRONG_PASSWORD);
+        }
+    }
+
+    /*
+    * Leave the login rate limit off, its default, otherwise the bad passwords
+    * of the mix would lock the seeded users out of their valid logins within
+    * seconds.
+    */
+    static LoadTestHarness start(String name, int users, String... properties) {
+        var allProperties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load_" + name));
+        allProperties.addAll(List.of(properties));
+
+        var context = new SpringApplicationBuilder(BasicAuthenticationApplication.class)
+                .profiles("test")
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+
+        return new LoadTestHarness(name, context, users);
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    LoadReport drive(TrafficMix mix, int concurrency, Duration duration) throws Exception {
+        var cumulativeWeights = mix.cumulativeWeights();
+        var deadline = System.nanoTime() + duration.toNanos();
+
+        var workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            var allocatedBefore = allocatedBytes();
+            var started = System.nanoTime();
+
+            var futures = new ArrayList<Future<Samples>>();
+            for(int i = 0; i < concurrency; i++)
+                futures.add(workers.submit(() -> generate(cumulativeWeights, deadline)));
+
+            var samples = new ArrayList<Samples>();
+            for(var future : futures)
+                samples.add(future.get());
+
+            var elapsed = Duration.ofNanos(System.nanoTime() - started);
+            var generatorBytes = samples.stream().mapToLong(Samples::allocatedBytes).sum();
+            var allocated = allocatedBytes() - allocatedBefore - generatorBytes;
+
+            return report(mix, concurrency, elapsed, samples, Math.max(allocated, 0));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    static Path write(String file, Object report) throws IOException {
+        var path = Path.of("target", "load-test", file + ".json");
+        Files.createDirectories(path.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        return path;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private Samples generate(int[] cumulativeWeights, long deadline) {
+        var random = ThreadLocalRandom.current();
+        var samples = new Samples();
+        var allocationStart = THREADS.getCurrentThreadAllocatedBytes();
+
+        while(System.nanoTime() < deadline) {
+            var operation = pick(cumulativeWeights, random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]));
+            var request = request(operation, random);
+
+            var start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = IO_ERROR;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.add(operation, status, System.nanoTime() - start);
+        }
+
+        samples.allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocationStart;
+        return samples;
+    }
+
+    private static Operation pick(int[] cumulativeWeights, int value) {
+        var operations = Operation.values();
+        for(int i = 0; i < cumulativeWeights.length; i++) {
+            if(value < cumulativeWeights[i])
+                return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case VALID_LOGIN -> validLogins[random.nextInt(validLogins.length)];
+            case BAD_PASSWORD -> badPasswords[random.nextInt(badPasswords.length)];
+            case UNKNOWN_USER -> login("unknown_%d@email.com".formatted(sequence.incrementAndGet()), PASSWORD);
+            case SIGNUP -> HttpRequest.newBuilder(signupUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"signup_%d@email.com\",\"password\":\"%s\"}"
+                            .formatted(sequence.incrementAndGet(), PASSWORD)))
+                    .build();
+        };
+    }
+
+    private HttpRequest login(String username, String password) {
+        return HttpRequest.newBuilder(loginUri)
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+    }
+
+    private LoadReport report(TrafficMix mix, int concurrency, Duration elapsed, List<Samples> samples, long allocated) {
+        var seconds = elapsed.toNanos() / 1_000_000_000.0;
+        var operations = new LinkedHashMap<String, LoadReport.OperationReport>();
+        var all = new ArrayList<long[]>();
+        long errors = 0;
+        long shed = 0;
+
+        for(var operation : Operation.values()) {
+            var latencies = samples.stream()
+                    .flatMapToLong(sample -> Arrays.stream(sample.latencies(operation)))
+                    .sorted()
+                    .toArray();
+            if(latencies.length == 0)
+                continue;
+
+            var statuses = new TreeMap<Integer, Long>();
+            samples.forEach(sample -> sample.statuses[operation.ordinal()].forEach(
+                    (status, count) -> statuses.merge(status, count, Long::sum)));
+
+            long operationShed = 0;
+            long operationErrors = 0;
+            for(var status : statuses.entrySet()) {
+                if(SHED_STATUSES.contains(status.getKey()))
+                    operationShed += status.getValue();
+                else if(status.getKey() != operation.expectedStatus())
+                    operationErrors += status.getValue();
+            }
+
+            operations.put(operation.key(), new LoadReport.OperationReport(latencies.length, operationErrors,
+                    operationShed, statuses, percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                    percentileMillis(latencies, 0.999)));
+            all.add(latencies);
+            errors += operationErrors;
+            shed += operationShed;
+        }
+
+        var latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        var requests = latencies.length;
+
+        return new LoadReport(name, mix.describe(), concurrency, seconds, requests, errors, shed,
+                requests / seconds,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999),
+                allocated / seconds / (1024 * 1024),
+                requests == 0 ? 0 : allocated / requests,
+                operations);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if(sortedNanos.length == 0)
+            return 0;
+        var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /*
+    * Bytes allocated so far by the live threads; threads that ended in the
+    * meantime are not counted, Tomcat keeps its workers for the whole run.
+    */
+    private static long allocatedBytes() {
+        return Arrays.stream(THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    private static final class Samples {
+
+        private final long[][] latencies = new long[Operation.values().length][256];
+
+        private final int[] counts = new int[Operation.values().length];
+
+        @SuppressWarnings("unchecked")
+        private final Map<Integer, Long>[] statuses = new Map[Operation.values().length];
+
+        private long allocatedBytes;
+
+        Samples() {
+            for(int i = 0; i < statuses.length; i++)
+                statuses[i] = new HashMap<>();
+        }
+
+        void add(Operation operation, int status, long nanos) {
+            var index = operation.ordinal();
+            if(counts[index] == latencies[index].length)
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            latencies[index][counts[index]++] = nanos;
+            statuses[index].merge(status, 1L, Long::sum);
+        }
+
+        long[] latencies(Operation operation) {
+            return Arrays.copyOf(latencies[operation.ordinal()], counts[operation.ordinal()]);
+        }
+
+        long allocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
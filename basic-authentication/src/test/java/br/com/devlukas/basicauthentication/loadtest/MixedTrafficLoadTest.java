@@ -0,0 +1,78 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/*
+* Saturates the login and signup endpoints with mixed traffic and writes
+* throughput, p50/p99/p999 latency and allocation rate per scenario to
+* target/load-test/mixed-<scenario>.json.
+*
+* Run with: ./mvnw -Pload-test test
+* A custom mix replaces the scenarios:
+*   ./mvnw -Pload-test test -Dload.mix="valid-login=60,bad-password=20,unknown-user=15,signup=5"
+*/
+@Tag("load")
+class MixedTrafficLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MixedTrafficLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+
+    private static final int USERS = Integer.getInteger("load.users", 16);
+
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warm-up-seconds", 5));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20));
+
+    static Stream<Arguments> scenarios() {
+        var custom = System.getProperty("load.mix");
+        if(custom != null)
+            return Stream.of(Arguments.of(TrafficMix.parse("custom", custom), new String[0]));
+
+        return Stream.of(
+                Arguments.of(TrafficMix.parse("steady",
+                        "valid-login=80,bad-password=10,unknown-user=5,signup=5"), new String[0]),
+                Arguments.of(TrafficMix.parse("signup-burst",
+                        "valid-login=50,signup=50"), new String[0]),
+                Arguments.of(TrafficMix.parse("credential-stuffing",
+                        "valid-login=20,bad-password=30,unknown-user=50"), new String[0]),
+                Arguments.of(TrafficMix.parse("cached-steady",
+                        "valid-login=80,bad-password=10,unknown-user=5,signup=5"), new String[]{
+                        "basic-authn.credential-cache.enabled=true",
+                        "basic-authn.user-details-cache.enabled=true"}));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    public void mixedTraffic_shouldAnswerEveryRequestAsExpected_whenSaturated(TrafficMix mix,
+                                                                               String[] properties) throws Exception {
+        try (var harness = LoadTestHarness.start(mix.name(), USERS, properties)) {
+            harness.drive(mix, CONCURRENCY, WARM_UP);
+            var report = harness.drive(mix, CONCURRENCY, DURATION);
+
+            log.info("{}: {} requests, {} shed, {} req/s, p50 {} ms, p99 {} ms, p999 {} ms, {} bytes/request",
+                    report.scenario(), report.requests(), report.shed(), report.throughputPerSecond(),
+                    report.p50Millis(), report.p99Millis(), report.p999Millis(), report.allocatedBytesPerRequest());
+            LoadTestHarness.write("mixed-" + mix.name(), report);
+
+            Assertions.assertThat(report.requests()).isPositive();
+            Assertions.assertThat(report.errors()).isZero();
+            Assertions.assertThat(report.operations().keySet()).isSubsetOf(report.mix().keySet());
+            report.operations().forEach((operation, operationReport) -> {
+                Assertions.assertThat(operationReport.requests()).as(operation).isPositive();
+                Assertions.assertThat(operationReport.errors()).as(operation).isZero();
+            });
+            Assertions.assertThat(report.p50Millis()).isLessThanOrEqualTo(report.p99Millis());
+            Assertions.assertThat(report.p99Millis()).isLessThanOrEqualTo(report.p999Millis());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+/*
+* Request kinds the load test mixes, with the status a healthy server
+* answers each of them with.
+*/
+enum Operation {
+
+    VALID_LOGIN("valid-login", 200),
+    BAD_PASSWORD("bad-password", 401),
+    UNKNOWN_USER("unknown-user", 401),
+    SIGNUP("signup", 201);
+
+    private final String key;
+
+    private final int expectedStatus;
+
+    Operation(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+
+    public static Operation of(String key) {
+        for(var operation : values()) {
+            if(operation.key.equals(key))
+                return operation;
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
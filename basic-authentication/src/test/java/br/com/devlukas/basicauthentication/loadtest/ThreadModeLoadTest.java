@@ -0,0 +1,115 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* Compares throughput and p99 latency of authenticated requests with Tomcat on
+* platform threads and on virtual threads. The verified-credential cache is on,
+* so each request is dominated by the user lookup instead of BCrypt.
+*
+* Run with: ./mvnw -Pload-test test
+*/
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("load.warm-up-seconds", 5));
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20));
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final TrafficMix VALID_LOGINS = TrafficMix.only(Operation.VALID_LOGIN);
+
+    @Test
+    public void onlyAuthenticated_shouldReportThroughputAndLatency_forPlatformAndVirtualThreads() throws Exception {
+        var results = new ArrayList<LoadResult>();
+        results.add(run(false));
+
+        if(Runtime.version().feature() >= 21)
+            results.add(run(true));
+
+        results.forEach(result -> log.info("{} threads: {} requests, {} req/s, p99 {} ms, {} pinned events",
+                result.mode(), result.load().requests(), result.load().throughputPerSecond(),
+                result.load().p99Millis(), result.pinnedEvents()));
+        LoadTestHarness.write("thread-mode", results);
+
+        Assertions.assertThat(results).allSatisfy(result -> {
+            Assertions.assertThat(result.load().requests()).isPositive();
+            Assertions.assertThat(result.load().errors()).isZero();
+            Assertions.assertThat(result.pinnedEvents()).isZero();
+        });
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        var mode = virtualThreads ? "virtual" : "platform";
+
+        try (var harness = LoadTestHarness.start(mode, 1,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "basic-authn.credential-cache.enabled=true");
+             var recording = virtualThreads ? pinningRecording() : null) {
+
+            harness.drive(VALID_LOGINS, CONCURRENCY, WARM_UP);
+
+            if(recording != null)
+                recording.start();
+
+            var load = harness.drive(VALID_LOGINS, CONCURRENCY, DURATION);
+
+            return LoadResult.of(mode, load, pinnedEvents(recording));
+        }
+    }
+
+    private static Recording pinningRecording() {
+        var recording = new Recording();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        return recording;
+    }
+
+    private static List<String> pinnedEvents(Recording recording) throws Exception {
+        if(recording == null)
+            return List.of();
+
+        recording.stop();
+        var dump = Files.createTempFile("pinning", ".jfr");
+        try {
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .map(ThreadModeLoadTest::topFrame)
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if(stackTrace == null || stackTrace.getFrames().isEmpty())
+            return "<unknown>";
+        var method = stackTrace.getFrames().get(0).getMethod();
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    record LoadResult(String mode, LoadReport load, int pinnedEvents, List<String> pinnedFrames) {
+
+        static LoadResult of(String mode, LoadReport load, List<String> pinnedFrames) {
+            return new LoadResult(mode, load, pinnedFrames.size(), pinnedFrames.stream().distinct().toList());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.devlukas.basicauthentication.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+* Relative weights of each operation, written as
+* "valid-login=70,bad-password=10,unknown-user=15,signup=5".
+*/
+record TrafficMix(String name, Map<Operation, Integer> weights) {
+
+    TrafficMix {
+        weights = new EnumMap<>(weights);
+        if(weights.values().stream().mapToInt(Integer::intValue).sum() <= 0)
+            throw new IllegalArgumentException("Traffic mix %s has no weight".formatted(name));
+    }
+
+    static TrafficMix parse(String name, String value) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for(var entry : value.split(",")) {
+            var pair = entry.trim().split("=");
+            if(pair.length != 2)
+                throw new IllegalArgumentException("Expected operation=weight: " + entry);
+
+            var weight = Integer.parseInt(pair[1].trim());
+            if(weight < 0)
+                throw new IllegalArgumentException("Weight cannot be negative: " + entry);
+            weights.put(Operation.of(pair[0].trim()), weight);
+        }
+        return new TrafficMix(name, weights);
+    }
+
+    static TrafficMix only(Operation operation) {
+        return new TrafficMix(operation.key(), Map.of(operation, 1));
+    }
+
+    /*
+    * Cumulative weights in Operation order, for picking the next operation
+    * with a single random number.
+    */
+    int[] cumulativeWeights() {
+        var cumulative = new int[Operation.values().length];
+        var total = 0;
+        for(var operation : Operation.values()) {
+            total += weights.getOrDefault(operation, 0);
+            cumulative[operation.ordinal()] = total;
+        }
+        return cumulative;
+    }
+
+    Map<String, Integer> describe() {
+        var described = new LinkedHashMap<String, Integer>();
+        weights.forEach((operation, weight) -> described.put(operation.key(), weight));
+        return described;
+    }
+}
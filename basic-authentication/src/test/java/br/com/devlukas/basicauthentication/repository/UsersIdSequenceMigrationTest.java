@@ -0,0 +1,64 @@
+package br.com.devlukas.basicauthentication.repository;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class UsersIdSequenceMigrationTest {
+
+    private static final long LEGACY_ID = 1_000_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users_");
+    }
+
+    @Test
+    public void migrate_shouldMoveSequencePastExistingIds_whenUsersWereInsertedWithIdentity() throws Exception {
+        jdbcTemplate.update("insert into users_ (id, email, password) values (?, ?, ?)",
+                LEGACY_ID, "legacy_user@email.com", "{bcrypt}legacy");
+
+        try (var connection = dataSource.getConnection()) {
+            new UsersIdSequenceMigration().migrate(context(connection));
+        }
+
+        var next = jdbcTemplate.queryForObject("select next value for users_id_seq", Long.class);
+
+        /*
+        * The pooled optimizer hands out next - allocation + 1 up to next.
+        */
+        Assertions.assertThat(next - User.ID_ALLOCATION_SIZE + 1).isEqualTo(LEGACY_ID + 1);
+    }
+
+    private static Context context(Connection connection) {
+        return new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        };
+    }
+}
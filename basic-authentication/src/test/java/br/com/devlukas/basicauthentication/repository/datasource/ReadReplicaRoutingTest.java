@@ -0,0 +1,115 @@
+package br.com.devlukas.basicauthentication.repository.datasource;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.service.UserService;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+/*
+* Two in-memory H2 databases stand in for the primary and the replica.
+* Nothing replicates between them, which makes the routing visible.
+*/
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "basic-authn.datasource.replica.enabled=true",
+        "basic-authn.datasource.replica.url=jdbc:h2:mem:routing_replica",
+        "basic-authn.datasource.replica.username=sa",
+        "basic-authn.datasource.replica.password=sa"
+})
+class ReadReplicaRoutingTest {
+
+    private static final String PASSWORD = "{noop}Valid_password_1*";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.update("delete from users_");
+        replica.update("delete from users_");
+    }
+
+    @Test
+    public void loadUserByUsername_shouldReadFromReplica() {
+        replica.update("insert into users_ (id, email, password) values (1, ?, ?)", "replica_user@email.com", PASSWORD);
+
+        var user = userDetailsService.loadUserByUsername("replica_user@email.com");
+
+        Assertions.assertThat(user.getUsername()).isEqualTo("replica_user@email.com");
+        Assertions.assertThat(count(primary, "replica_user@email.com")).isZero();
+    }
+
+    @Test
+    public void registerUser_shouldWriteToPrimary() {
+        userService.registerUser(new User("primary_user@email.com", "Valid_password_1*"));
+
+        Assertions.assertThat(count(primary, "primary_user@email.com")).isEqualTo(1);
+        Assertions.assertThat(count(replica, "primary_user@email.com")).isZero();
+    }
+
+    @Test
+    public void loadUserByUsername_shouldFindUser_whenSignedUpButNotYetReplicated() {
+        userService.registerUser(new User("new_user@email.com", "Valid_password_1*"));
+
+        var user = userDetailsService.loadUserByUsername("new_user@email.com");
+
+        Assertions.assertThat(user.getUsername()).isEqualTo("new_user@email.com");
+        Assertions.assertThat(count(replica, "new_user@email.com")).isZero();
+    }
+
+    @Test
+    public void loadUserByUsername_shouldReturnNewPassword_whenChangeIsNotYetReplicated() {
+        primary.update("insert into users_ (id, email, password) values (1, ?, ?)", "changed_user@email.com", PASSWORD);
+        replica.update("insert into users_ (id, email, password) values (1, ?, ?)", "changed_user@email.com", PASSWORD);
+
+        userService.updateEncodedPassword("changed_user@email.com", "{noop}Changed_password_1*");
+
+        Assertions.assertThat(userDetailsService.loadUserByUsername("changed_user@email.com").getPassword())
+                .isEqualTo("{noop}Changed_password_1*");
+    }
+
+    @Test
+    public void loadUserByUsername_shouldThrow_whenUserIsOnNeitherDatabase() {
+        Assertions.assertThatThrownBy(() -> userDetailsService.loadUserByUsername("unknown_user@email.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    private static Integer count(JdbcTemplate jdbcTemplate, String email) {
+        return jdbcTemplate.queryForObject("select count(*) from users_ where email = ?", Integer.class, email);
+    }
+}
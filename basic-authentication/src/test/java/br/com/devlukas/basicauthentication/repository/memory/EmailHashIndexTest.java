@@ -0,0 +1,39 @@
+package br.com.devlukas.basicauthentication.repository.memory;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class EmailHashIndexTest {
+
+    private final EmailHashIndex index = new EmailHashIndex();
+
+    @Test
+    public void get_shouldReturnNull_whenEmailWasNeverPut() {
+        Assertions.assertThat(index.get("unknown_user_email@email.com")).isNull();
+    }
+
+    @Test
+    public void get_shouldReturnLatestValue_whenEmailIsPutTwice() {
+        index.put("valid_user_email@email.com", bytes("first"));
+        index.put("valid_user_email@email.com", bytes("second"));
+
+        Assertions.assertThat(index.get("valid_user_email@email.com")).isEqualTo(bytes("second"));
+        Assertions.assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_shouldFindEveryEmail_whenIndexGrowsPastInitialCapacity() {
+        for(int i = 0; i < 10_000; i++)
+            index.put("user_%d@email.com".formatted(i), bytes("hash_" + i));
+
+        Assertions.assertThat(index.size()).isEqualTo(10_000);
+        for(int i = 0; i < 10_000; i++)
+            Assertions.assertThat(index.get("user_%d@email.com".formatted(i))).isEqualTo(bytes("hash_" + i));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.devlukas.basicauthentication.repository.memory;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.JpaUserStore;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+class InMemoryUserStoreTest {
+
+    private static final String EMAIL = "valid_user_email@email.com";
+
+    @Test
+    public void updatePassword_shouldUpdateIndex_whenDatabaseUpdatedUser() {
+        var store = storeUpdating(1);
+
+        Assertions.assertThat(store.updatePassword(EMAIL, "{noop}changed")).isEqualTo(1);
+        Assertions.assertThat(store.findByEmail(EMAIL)).map(User::getPassword).contains("{noop}changed");
+    }
+
+    @Test
+    public void updatePassword_shouldLeaveIndexAlone_whenDatabaseUpdatedNoUser() {
+        var store = storeUpdating(0);
+
+        Assertions.assertThat(store.updatePassword(EMAIL, "{noop}changed")).isZero();
+        Assertions.assertThat(store.findByEmail(EMAIL)).isEmpty();
+    }
+
+    /*
+    * Only updatePassword reaches the database in these tests.
+    */
+    private static InMemoryUserStore storeUpdating(int rows) {
+        var repository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if(method.getName().equals("updatePassword"))
+                        return rows;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        return new InMemoryUserStore(new JpaUserStore(repository, null, null), null);
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ShardRebalancerTest {
+
+    private static final int USERS = 3000;
+
+    private final List<UserShard> shards = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        var name = UUID.randomUUID();
+        for(int i = 0; i < 3; i++) {
+            var dataSource = new DriverManagerDataSource("jdbc:h2:mem:rebalance_%s_%d;DB_CLOSE_DELAY=-1".formatted(name, i),
+                    "sa", "");
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            shards.add(UserShard.of(i, dataSource));
+        }
+    }
+
+    @Test
+    public void rebalance_shouldMoveOnlyUsersOfAppendedShard_whenGrowingFromTwoToThreeShards() {
+        var twoShards = new ShardedUserStore(shards.subList(0, 2), null);
+        var users = new ArrayList<User>();
+        for(int i = 0; i < USERS; i++)
+            users.add(new User("rebalance_user_%d@email.com".formatted(i), "{noop}password_%d".formatted(i)));
+        twoShards.insertAll(users);
+
+        var threeShards = new ShardedUserStore(shards, 2);
+        Assertions.assertThat(threeShards.findByEmail("rebalance_user_0@email.com")).isPresent();
+
+        var result = new ShardRebalancer(shards, 500).rebalance();
+
+        var expectedMoves = users.stream().filter(user -> ShardRouter.shardFor(user.getEmail(), 3) == 2).count();
+        Assertions.assertThat(result.moved()).isEqualTo(expectedMoves);
+        Assertions.assertThat((double) expectedMoves / USERS).isBetween(0.28, 0.39);
+
+        var rebalanced = new ShardedUserStore(shards, null);
+        for(var user : users) {
+            Assertions.assertThat(rebalanced.findByEmail(user.getEmail()))
+                    .hasValueSatisfying(found -> Assertions.assertThat(found.getPassword()).isEqualTo(user.getPassword()));
+        }
+        Assertions.assertThat(total()).isEqualTo(USERS);
+    }
+
+    @Test
+    public void rebalance_shouldMoveNothing_whenRunTwice() {
+        var twoShards = new ShardedUserStore(shards.subList(0, 2), null);
+        for(int i = 0; i < 100; i++)
+            twoShards.insert(new User("rerun_user_%d@email.com".formatted(i), "{noop}password"));
+
+        new ShardRebalancer(shards, 30).rebalance();
+        var second = new ShardRebalancer(shards, 30).rebalance();
+
+        Assertions.assertThat(second.moved()).isZero();
+        Assertions.assertThat(second.scanned()).isEqualTo(100);
+    }
+
+    /*
+    * Passwords keep changing while users move. Each round rewrites every
+    * moving user; the last round that finished must be what is stored.
+    */
+    @Test
+    public void rebalance_shouldKeepPasswordChanges_whenUsersAreUpdatedWhileMoving() throws Exception {
+        var twoShards = new ShardedUserStore(shards.subList(0, 2), null);
+        var users = new ArrayList<User>();
+        for(int i = 0; i < USERS; i++)
+            users.add(new User("moving_user_%d@email.com".formatted(i), "{noop}password_%d".formatted(i)));
+        twoShards.insertAll(users);
+
+        var moving = users.stream()
+                .map(User::getEmail)
+                .filter(email -> ShardRouter.shardFor(email, 3) == 2)
+                .toList();
+        var threeShards = new ShardedUserStore(shards, 2);
+        var rebalanced = new AtomicBoolean();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var lastRound = executor.submit(() -> {
+                start.await();
+                var round = 0;
+                do {
+                    round++;
+                    for(var email : moving)
+                        threeShards.updatePassword(email, "{noop}round_%d_%s".formatted(round, email));
+                } while(!rebalanced.get());
+                return round;
+            });
+
+            start.countDown();
+            new ShardRebalancer(shards, 50).rebalance();
+            rebalanced.set(true);
+
+            var round = lastRound.get();
+            var afterRebalance = new ShardedUserStore(shards, null);
+            for(var email : moving) {
+                Assertions.assertThat(afterRebalance.findByEmail(email))
+                        .hasValueSatisfying(found -> Assertions.assertThat(found.getPassword())
+                                .isEqualTo("{noop}round_%d_%s".formatted(round, email)));
+            }
+            Assertions.assertThat(total()).isEqualTo(USERS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int total() {
+        return shards.stream()
+                .mapToInt(shard -> shard.jdbcTemplate().queryForObject("select count(*) from users_", Integer.class))
+                .sum();
+    }
+}
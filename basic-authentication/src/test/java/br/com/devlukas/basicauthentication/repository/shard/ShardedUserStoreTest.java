@@ -0,0 +1,82 @@
+package br.com.devlukas.basicauthentication.repository.shard;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.service.UserService;
+import br.com.devlukas.basicauthentication.service.exceptions.UserAlreadyRegisteredException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+/*
+* Three in-memory H2 databases act as the shards.
+*/
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "basic-authn.user-store.type=sharded",
+        "basic-authn.user-store.sharding.shards[0].url=jdbc:h2:mem:shard_0",
+        "basic-authn.user-store.sharding.shards[0].username=sa",
+        "basic-authn.user-store.sharding.shards[1].url=jdbc:h2:mem:shard_1",
+        "basic-authn.user-store.sharding.shards[1].username=sa",
+        "basic-authn.user-store.sharding.shards[2].url=jdbc:h2:mem:shard_2",
+        "basic-authn.user-store.sharding.shards[2].username=sa"
+})
+class ShardedUserStoreTest {
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserShards userShards;
+
+    @AfterEach
+    void tearDown() {
+        userShards.shards().forEach(shard -> shard.jdbcTemplate().update("delete from users_"));
+    }
+
+    @Test
+    public void registerUser_shouldWriteOnlyToRoutedShard() {
+        var emails = List.of("sharded_user_1@email.com", "sharded_user_2@email.com", "sharded_user_3@email.com",
+                "sharded_user_4@email.com", "sharded_user_5@email.com", "sharded_user_6@email.com");
+
+        for(var email : emails)
+            userService.registerUser(new User(email, PASSWORD));
+
+        for(var email : emails) {
+            var routed = ShardRouter.shardFor(email, 3);
+            for(var shard : userShards.shards())
+                Assertions.assertThat(count(shard, email)).isEqualTo(shard.index() == routed ? 1 : 0);
+        }
+    }
+
+    @Test
+    public void loadUserByUsername_shouldFindUser_whenStoredOnAnyShard() {
+        userService.registerUser(new User("sharded_login@email.com", PASSWORD));
+
+        var user = userDetailsService.loadUserByUsername("sharded_login@email.com");
+
+        Assertions.assertThat(user.getUsername()).isEqualTo("sharded_login@email.com");
+    }
+
+    @Test
+    public void registerUser_shouldThrowUserAlreadyRegisteredException_whenEmailIsTakenOnItsShard() {
+        userService.registerUser(new User("sharded_duplicate@email.com", PASSWORD));
+
+        Assertions.assertThatThrownBy(() -> userService.registerUser(new User("sharded_duplicate@email.com", PASSWORD)))
+                .isInstanceOf(UserAlreadyRegisteredException.class);
+    }
+
+    private static int count(UserShard shard, String email) {
+        return shard.jdbcTemplate().queryForObject("select count(*) from users_ where email = ?", Integer.class, email);
+    }
+}
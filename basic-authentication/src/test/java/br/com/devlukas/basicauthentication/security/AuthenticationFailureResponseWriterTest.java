@@ -0,0 +1,74 @@
+package br.com.devlukas.basicauthentication.security;
+
+import br.com.devlukas.basicauthentication.handler.ExceptionDetailsBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+class AuthenticationFailureResponseWriterTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:15:30.120Z");
+
+    private final AuthenticationFailureResponseWriter writer =
+            new AuthenticationFailureResponseWriter(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void write_shouldProduceSameBodyAsExceptionHandler_whenCredentialsAreBad() throws Exception {
+        var response = write("/api/v1/basic-authn", new BadCredentialsException("Bad credentials"));
+
+        Assertions.assertThat(response.getStatus()).isEqualTo(401);
+        Assertions.assertThat(response.getContentType()).isEqualTo("application/json");
+        Assertions.assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                expectedBody("/api/v1/basic-authn", "Email or password is incorrect", 401));
+    }
+
+    @Test
+    public void write_shouldProduceSameBodyAsExceptionHandler_whenAuthenticationIsMissing() throws Exception {
+        var ex = new InsufficientAuthenticationException("Full authentication is required to access this resource");
+        var response = write("/api/v1/basic-authn", ex);
+
+        Assertions.assertThat(response.getStatus()).isEqualTo(403);
+        Assertions.assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                expectedBody("/api/v1/basic-authn", ex.getMessage(), 403));
+    }
+
+    @Test
+    public void write_shouldEscapePathLikeJackson_whenPathHasSpecialCharacters() throws Exception {
+        var path = "/api/v1/\"quoted\"\\caf\u00e9\u0001";
+        var response = write(path, new BadCredentialsException("Bad credentials"));
+
+        Assertions.assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                expectedBody(path, "Email or password is incorrect", 401));
+        Assertions.assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse write(String path, AuthenticationException ex) throws Exception {
+        var request = new MockHttpServletRequest("GET", path);
+        var response = new MockHttpServletResponse();
+        writer.write(request, response, ex);
+        return response;
+    }
+
+    private String expectedBody(String path, String message, int statusCode) throws Exception {
+        return objectMapper.writeValueAsString(new ExceptionDetailsBody(path, List.of(message), statusCode,
+                LocalDateTime.ofInstant(NOW, ZoneOffset.UTC)));
+    }
+}
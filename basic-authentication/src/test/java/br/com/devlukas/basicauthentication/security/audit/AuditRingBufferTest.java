@@ -0,0 +1,71 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class AuditRingBufferTest {
+
+    @Test
+    public void offer_shouldReturnFalse_whenBufferIsFull() {
+        var buffer = new AuditRingBuffer<Integer>(4);
+
+        for(int i = 0; i < 4; i++)
+            Assertions.assertThat(buffer.offer(i)).isTrue();
+
+        Assertions.assertThat(buffer.offer(4)).isFalse();
+
+        var drained = new ArrayList<Integer>();
+        buffer.drain(drained::add, 2);
+
+        Assertions.assertThat(drained).containsExactly(0, 1);
+        Assertions.assertThat(buffer.offer(4)).isTrue();
+        Assertions.assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void drain_shouldReceiveEveryElementOnce_whenManyThreadsOffer() throws Exception {
+        var producers = 8;
+        var perProducer = 50_000;
+        var buffer = new AuditRingBuffer<Integer>(1024);
+        var start = new CountDownLatch(1);
+        var seen = new boolean[producers * perProducer];
+
+        var executor = Executors.newFixedThreadPool(producers);
+
+        try {
+            var producing = new ArrayList<Future<?>>();
+            for(int p = 0; p < producers; p++) {
+                var offset = p * perProducer;
+                producing.add(executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < perProducer; i++) {
+                        while(!buffer.offer(offset + i))
+                            Thread.onSpinWait();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            var received = 0;
+            while(received < seen.length) {
+                received += buffer.drain(value -> {
+                    Assertions.assertThat(seen[value]).isFalse();
+                    seen[value] = true;
+                }, 256);
+            }
+
+            for(var producer : producing)
+                producer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.devlukas.basicauthentication.security.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class AuditWriterTest {
+
+    private final List<AuthenticationAuditEvent> written = new CopyOnWriteArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void destroy_shouldWriteBufferedEvents_whenFlushIntervalHasNotElapsed() throws InterruptedException {
+        /*
+        * Neither a full batch nor the interval is reached, only the
+        * shutdown flush can write these.
+        */
+        var writer = new AuditWriter(batch -> written.addAll(new ArrayList<>(batch)),
+                properties(AuditProperties.OverflowPolicy.DROP, 1024), meterRegistry);
+
+        for(int i = 0; i < 100; i++)
+            writer.publish(event("user_%d@email.com".formatted(i)));
+
+        writer.destroy();
+
+        Assertions.assertThat(written).hasSize(100);
+        Assertions.assertThat(written.get(0).username()).isEqualTo("user_0@email.com");
+        Assertions.assertThat(meterRegistry.counter("auth.audit.events", "result", "written").count()).isEqualTo(100);
+    }
+
+    @Test
+    public void publish_shouldDropEvent_whenBufferIsFullAndSinkIsStalled() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var writer = new AuditWriter(batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAll(new ArrayList<>(batch));
+        }, new AuditProperties(true, 4, 2, Duration.ZERO, AuditProperties.OverflowPolicy.BLOCK,
+                Duration.ofMillis(20), Duration.ofSeconds(5)), meterRegistry);
+
+        var accepted = 0;
+        for(int i = 0; i < 20; i++) {
+            if(writer.publish(event("user_%d@email.com".formatted(i))))
+                accepted++;
+        }
+
+        release.countDown();
+        writer.destroy();
+
+        Assertions.assertThat(accepted).isLessThan(20);
+        Assertions.assertThat(written).hasSize(accepted);
+        Assertions.assertThat(meterRegistry.counter("auth.audit.events", "result", "dropped").count())
+                .isEqualTo(20 - accepted);
+    }
+
+    @Test
+    public void publish_shouldWakeWriter_whenBatchSizeEventsAreWaiting() throws InterruptedException {
+        /*
+        * The flush interval is an hour, only a full batch can be written
+        * before the deadline below.
+        */
+        var writer = new AuditWriter(batch -> written.addAll(new ArrayList<>(batch)),
+                properties(AuditProperties.OverflowPolicy.DROP, 10), meterRegistry);
+
+        try {
+            for(int i = 0; i < 10; i++)
+                writer.publish(event("user_%d@email.com".formatted(i)));
+
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(written.size() < 10 && System.nanoTime() - deadline < 0)
+                Thread.sleep(10);
+
+            Assertions.assertThat(written).hasSize(10);
+        } finally {
+            writer.destroy();
+        }
+    }
+
+    private static AuditProperties properties(AuditProperties.OverflowPolicy policy, int batchSize) {
+        return new AuditProperties(true, 1024, batchSize, Duration.ofHours(1), policy,
+                Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+
+    private static AuthenticationAuditEvent event(String username) {
+        return new AuthenticationAuditEvent(0, AuthenticationAuditEvent.Outcome.FAILURE, username, "127.0.0.1",
+                "bad_credentials");
+    }
+}
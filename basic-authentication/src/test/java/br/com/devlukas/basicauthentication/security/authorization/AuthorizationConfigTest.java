@@ -0,0 +1,45 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class AuthorizationConfigTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @Test
+    public void compiledAuthorizationManager_shouldPermitH2Console_whenConsoleIsEnabled() {
+        beanFactory.registerSingleton("h2ConsoleProperties", new H2ConsoleProperties());
+
+        var authorizationManager = new AuthorizationConfig().compiledAuthorizationManager(new MockEnvironment(),
+                beanFactory.getBeanProvider(H2ConsoleProperties.class));
+
+        Assertions.assertThat(isAnonymousGranted(authorizationManager, "/h2-console/login.do")).isTrue();
+    }
+
+    @Test
+    public void compiledAuthorizationManager_shouldRequireAuthentication_whenConsoleIsDisabled() {
+        var authorizationManager = new AuthorizationConfig().compiledAuthorizationManager(new MockEnvironment(),
+                beanFactory.getBeanProvider(H2ConsoleProperties.class));
+
+        Assertions.assertThat(isAnonymousGranted(authorizationManager, "/h2-console/login.do")).isFalse();
+        Assertions.assertThat(isAnonymousGranted(authorizationManager, "/actuator/health")).isTrue();
+        Assertions.assertThat(isAnonymousGranted(authorizationManager, "/actuator/prometheus")).isFalse();
+    }
+
+    private static boolean isAnonymousGranted(CompiledAuthorizationManager authorizationManager, String path) {
+        var request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        var anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        return authorizationManager.check(() -> anonymous, new RequestAuthorizationContext(request)).isGranted();
+    }
+}
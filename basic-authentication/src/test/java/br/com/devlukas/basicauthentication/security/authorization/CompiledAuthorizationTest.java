@@ -0,0 +1,100 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import br.com.devlukas.basicauthentication.dto.UserRequestBodyDTO;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+* The reload interval is long enough to never fire; the tests trigger the
+* reload themselves.
+*/
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "basic-authn.authorization.mode=compiled",
+        "basic-authn.authorization.reload-interval=1h"
+})
+class CompiledAuthorizationTest {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final String INITIAL_RULES = """
+            # built-in rules come first, this one must not close the signup
+            *    /api/v1/basic-authn/singup  deny-all
+            GET  /api/v1/basic-authn         deny-all
+            """;
+
+    private static final Path RULES_FILE = createRulesFile();
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private AuthorizationRulesReloader reloader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void rulesFile(DynamicPropertyRegistry registry) {
+        registry.add("basic-authn.authorization.rules-file", RULES_FILE::toString);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.writeString(RULES_FILE, INITIAL_RULES);
+        reloader.reloadIfChanged();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void singUp_shouldStayPermitted_whenRulesFileDeniesIt() {
+        var exchange = testRestTemplate.postForEntity(BASE_URL + "/singup",
+                new UserRequestBodyDTO("compiled_signup@email.com", "Valid_password_1*"), String.class);
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldFollowRulesFile_whenItIsReloaded() throws IOException {
+        testRestTemplate.postForEntity(BASE_URL + "/singup",
+                new UserRequestBodyDTO("compiled_reload@email.com", "Valid_password_1*"), String.class);
+        var client = testRestTemplate.withBasicAuth("compiled_reload@email.com", "Valid_password_1*");
+
+        Assertions.assertThat(client.getForEntity(BASE_URL, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+
+        Files.writeString(RULES_FILE, "GET /api/v1/basic-authn authenticated\n");
+        reloader.reloadIfChanged();
+
+        Assertions.assertThat(client.getForEntity(BASE_URL, String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        var anonymous = testRestTemplate.getForEntity(BASE_URL, String.class);
+
+        Assertions.assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        Assertions.assertThat(anonymous.getBody()).contains("Full authentication is required to access this resource");
+    }
+
+    private static Path createRulesFile() {
+        try {
+            var file = Files.createTempFile("authorization", ".rules");
+            file.toFile().deleteOnExit();
+            return Files.writeString(file, INITIAL_RULES);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
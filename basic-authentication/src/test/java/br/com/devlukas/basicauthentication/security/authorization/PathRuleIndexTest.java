@@ -0,0 +1,70 @@
+package br.com.devlukas.basicauthentication.security.authorization;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PathRuleIndexTest {
+
+    private static final List<PathRuleIndex.Rule<String>> RULES = List.of(
+            new PathRuleIndex.Rule<>(null, "/api/v1/basic-authn/singup", "signup"),
+            new PathRuleIndex.Rule<>(null, "/h2-console/**", "h2-console"),
+            new PathRuleIndex.Rule<>("GET", "/api/v1/tenants/{tenant}/reports/**", "read-reports"),
+            new PathRuleIndex.Rule<>(null, "/api/v1/tenants/acme/reports/annual", "acme-annual"),
+            new PathRuleIndex.Rule<>(null, "/api/v1/tenants/*/users", "users"),
+            new PathRuleIndex.Rule<>(null, "/static/*.css", "css"),
+            new PathRuleIndex.Rule<>(null, "/static/", "static-dir"),
+            new PathRuleIndex.Rule<>(null, "/**", "any"));
+
+    private final PathRuleIndex<String> index = PathRuleIndex.compile(RULES);
+
+    @Test
+    public void match_shouldReturnFirstDeclaredRule_whenSeveralRulesMatch() {
+        Assertions.assertThat(index.match("GET", "/api/v1/tenants/acme/reports/annual")).isEqualTo("read-reports");
+        Assertions.assertThat(index.match("POST", "/api/v1/tenants/acme/reports/annual")).isEqualTo("acme-annual");
+        Assertions.assertThat(index.match("POST", "/api/v1/basic-authn/singup")).isEqualTo("signup");
+        Assertions.assertThat(index.match("POST", "/api/v1/basic-authn/singup/batch")).isEqualTo("any");
+    }
+
+    @Test
+    public void match_shouldAgreeWithOrderedAntPathMatchers_whenPathsVary() {
+        var matchers = new ArrayList<AntPathRequestMatcher>();
+        for(var rule : RULES)
+            matchers.add(AntPathRequestMatcher.antMatcher(
+                    rule.method() != null ? HttpMethod.valueOf(rule.method()) : null,
+                    rule.pattern()));
+
+        var paths = List.of("/", "/h2-console", "/h2-console/login.do", "/api/v1/tenants/acme/reports",
+                "/api/v1/tenants/acme/reports/2024/q1", "/api/v1/tenants/acme/users", "/api/v1/tenants/acme/users/1",
+                "/static/site.css", "/static/site.js", "/static/", "/static", "/api/v1/basic-authn/singup/");
+
+        for(var method : List.of("GET", "POST")) {
+            for(var path : paths) {
+                var request = new MockHttpServletRequest(method, path);
+                request.setServletPath(path);
+
+                String expected = null;
+                for(int i = 0; i < matchers.size() && expected == null; i++) {
+                    if(matchers.get(i).matches(request))
+                        expected = RULES.get(i).value();
+                }
+
+                Assertions.assertThat(index.match(method, path)).as("%s %s", method, path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void compile_shouldRejectPattern_whenDoubleWildcardIsNotLast() {
+        var rules = List.of(new PathRuleIndex.Rule<>(null, "/api/**/reports", "reports"));
+
+        Assertions.assertThatThrownBy(() -> PathRuleIndex.compile(rules))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("/api/**/reports");
+    }
+}
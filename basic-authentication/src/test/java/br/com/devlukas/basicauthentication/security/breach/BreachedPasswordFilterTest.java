@@ -0,0 +1,99 @@
+package br.com.devlukas.basicauthentication.security.breach;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+
+class BreachedPasswordFilterTest {
+
+    private static final int ENTRIES = 100_000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void mightContain_shouldReportEveryListedPassword_whenFilterIsBuiltFromHashList() throws IOException {
+        var filter = build();
+
+        for(int i = 0; i < ENTRIES; i++)
+            Assertions.assertThat(filter.mightContain("Breached_password_%d*".formatted(i))).isTrue();
+
+        Assertions.assertThat(filter.entries()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    public void mightContain_shouldStayNearTargetRate_whenPasswordsAreNotListed() throws IOException {
+        var filter = build();
+
+        var positives = 0;
+        for(int i = 0; i < ENTRIES; i++) {
+            if(filter.mightContain("Valid_password_%d*".formatted(i)))
+                positives++;
+        }
+
+        Assertions.assertThat((double) positives / ENTRIES).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+        Assertions.assertThat(filter.measuredFalsePositiveRate()).isBetween(0.0, FALSE_POSITIVE_RATE * 1.5);
+        Assertions.assertThat(filter.falsePositiveSamples()).isEqualTo(ENTRIES);
+    }
+
+    @Test
+    public void open_shouldFail_whenFileIsNotAFilter() throws IOException {
+        var file = Files.writeString(directory.resolve("not-a-filter.bloom"), "0".repeat(BloomFilterLayout.HEADER_BYTES));
+
+        Assertions.assertThatThrownBy(() -> BreachedPasswordFilter.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a breached password filter");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 7", "-64, 7", "100, 7", "1024, 0"})
+    public void open_shouldFail_whenHeaderHasInvalidGeometry(long bitCount, int hashFunctions) throws IOException {
+        var file = directory.resolve("corrupt.bloom");
+        var header = ByteBuffer.allocate(BloomFilterLayout.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(BloomFilterLayout.MAGIC_OFFSET, BloomFilterLayout.MAGIC)
+                .putInt(BloomFilterLayout.VERSION_OFFSET, BloomFilterLayout.VERSION)
+                .putInt(BloomFilterLayout.HASH_FUNCTIONS_OFFSET, hashFunctions)
+                .putLong(BloomFilterLayout.BIT_COUNT_OFFSET, bitCount);
+        Files.write(file, header.array());
+
+        Assertions.assertThatThrownBy(() -> BreachedPasswordFilter.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("expected");
+    }
+
+    /*
+    * Upper and lower case hashes with ":count" suffixes, like the public
+    * dumps, plus a header line the builder has to skip.
+    */
+    private BreachedPasswordFilter build() throws IOException {
+        var sha1 = BreachedPasswordFilter.sha1();
+        var hex = HexFormat.of();
+        var lines = new ArrayList<String>(ENTRIES + 1);
+        lines.add("hash:count");
+        for(int i = 0; i < ENTRIES; i++) {
+            var digest = hex.formatHex(sha1.digest("Breached_password_%d*".formatted(i).getBytes(StandardCharsets.UTF_8)));
+            lines.add(i % 2 == 0 ? digest.toUpperCase() + ":" + i : digest);
+        }
+
+        var input = Files.write(directory.resolve("hashes.txt"), lines);
+        var output = directory.resolve("breached-passwords.bloom");
+
+        var result = BreachedPasswordFilterBuilder.build(input, output, FALSE_POSITIVE_RATE, ENTRIES);
+
+        Assertions.assertThat(result.skippedLines()).isEqualTo(1);
+        return BreachedPasswordFilter.open(output);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CachingDaoAuthenticationProviderTest {
+
+    private static final String USERNAME = "valid_user_email@email.com";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    private final CountingPasswordEncoder passwordEncoder = new CountingPasswordEncoder();
+
+    private final InMemoryUserDetailsManager userDetailsManager = new InMemoryUserDetailsManager();
+
+    private VerifiedCredentialCache credentialCache;
+
+    private CachingDaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsManager.createUser(User.withUsername(USERNAME).password(passwordEncoder.encode(PASSWORD)).build());
+
+        credentialCache = new VerifiedCredentialCache(
+                new CredentialCacheProperties(true, Duration.ofMinutes(5), 100), new SimpleMeterRegistry());
+
+        provider = new CachingDaoAuthenticationProvider(credentialCache);
+        provider.setUserDetailsService(userDetailsManager);
+        provider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @Test
+    public void authenticate_shouldSkipPasswordEncoder_whenCredentialsWereAlreadyVerified() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        Assertions.assertThat(passwordEncoder.matches.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void authenticate_shouldRejectWrongPassword_whenValidCredentialsAreCached() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        Assertions.assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, "invalid_password")))
+                .isInstanceOf(BadCredentialsException.class);
+        Assertions.assertThat(passwordEncoder.matches.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void authenticate_shouldVerifyAgain_whenStoredPasswordChanges() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        userDetailsManager.updateUser(User.withUsername(USERNAME).password(passwordEncoder.encode(PASSWORD)).build());
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        Assertions.assertThat(passwordEncoder.matches.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void authenticate_shouldVerifyAgain_whenCredentialsChangedEventIsPublished() {
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        credentialCache.onCredentialsChanged(new UserCredentialsChangedEvent(USERNAME));
+        provider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+
+        Assertions.assertThat(passwordEncoder.matches.get()).isEqualTo(2);
+    }
+
+    private static class CountingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+
+        private final AtomicInteger matches = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            matches.incrementAndGet();
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.devlukas.basicauthentication.security.cache;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CachingUserDetailsServiceTest {
+
+    private static final String USERNAME = "valid_user_email@email.com";
+
+    private static final String UNKNOWN_USERNAME = "unknown_user_email@email.com";
+
+    private final InMemoryUserDetailsManager userDetailsManager = new InMemoryUserDetailsManager(
+            User.withUsername(USERNAME).password("{noop}Valid_password_1*").build());
+
+    private final CountingUserDetailsService delegate = new CountingUserDetailsService();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CachingUserDetailsService service = new CachingUserDetailsService(delegate,
+            new UserDetailsCacheProperties(true, Duration.ofMinutes(5), 100, Duration.ofSeconds(30), 100),
+            meterRegistry);
+
+    @Test
+    public void loadUserByUsername_shouldSkipDelegate_whenUserIsCached() {
+        service.loadUserByUsername(USERNAME);
+        var user = service.loadUserByUsername(USERNAME);
+
+        Assertions.assertThat(user.getPassword()).isEqualTo("{noop}Valid_password_1*");
+        Assertions.assertThat(delegate.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void loadUserByUsername_shouldKeepCachedPassword_whenReturnedCopyIsErased() {
+        ((User) service.loadUserByUsername(USERNAME)).eraseCredentials();
+
+        Assertions.assertThat(service.loadUserByUsername(USERNAME).getPassword()).isEqualTo("{noop}Valid_password_1*");
+    }
+
+    @Test
+    public void loadUserByUsername_shouldRememberUnknownEmail_whenDelegateDoesNotFindIt() {
+        for(int i = 0; i < 3; i++)
+            Assertions.assertThatThrownBy(() -> service.loadUserByUsername(UNKNOWN_USERNAME))
+                    .isInstanceOf(UsernameNotFoundException.class);
+
+        Assertions.assertThat(delegate.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void onCredentialsChanged_shouldEvictNegativeEntry_whenEmailIsRegistered() {
+        Assertions.assertThatThrownBy(() -> service.loadUserByUsername(UNKNOWN_USERNAME))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        userDetailsManager.createUser(User.withUsername(UNKNOWN_USERNAME).password("{noop}Valid_password_1*").build());
+        service.onCredentialsChanged(new UserCredentialsChangedEvent(UNKNOWN_USERNAME));
+
+        Assertions.assertThat(service.loadUserByUsername(UNKNOWN_USERNAME).getUsername()).isEqualTo(UNKNOWN_USERNAME);
+        Assertions.assertThat(delegate.lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void onCredentialsChanged_shouldReloadUser_whenPasswordChanged() {
+        service.loadUserByUsername(USERNAME);
+
+        userDetailsManager.updateUser(User.withUsername(USERNAME).password("{noop}Changed_password_1*").build());
+        service.onCredentialsChanged(new UserCredentialsChangedEvent(USERNAME));
+
+        Assertions.assertThat(service.loadUserByUsername(USERNAME).getPassword()).isEqualTo("{noop}Changed_password_1*");
+    }
+
+    @Test
+    public void loadUserByUsername_shouldRecordHitsAndMisses_perCache() {
+        service.loadUserByUsername(USERNAME);
+        service.loadUserByUsername(USERNAME);
+        Assertions.assertThatThrownBy(() -> service.loadUserByUsername(UNKNOWN_USERNAME))
+                .isInstanceOf(UsernameNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> service.loadUserByUsername(UNKNOWN_USERNAME))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        Assertions.assertThat(gets("user-details", "hit")).isEqualTo(1);
+        Assertions.assertThat(gets("user-details", "miss")).isEqualTo(3);
+        Assertions.assertThat(gets("user-details-negative", "hit")).isEqualTo(1);
+        Assertions.assertThat(gets("user-details-negative", "miss")).isEqualTo(2);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    private class CountingUserDetailsService implements UserDetailsService {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+            lookups.incrementAndGet();
+            return userDetailsManager.loadUserByUsername(username);
+        }
+    }
+}
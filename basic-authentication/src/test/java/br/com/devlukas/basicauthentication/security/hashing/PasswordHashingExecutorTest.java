@@ -0,0 +1,124 @@
+package br.com.devlukas.basicauthentication.security.hashing;
+
+import br.com.devlukas.basicauthentication.controller.BasicAuthnController;
+import br.com.devlukas.basicauthentication.handler.ExceptionHandlerSource;
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilter;
+import br.com.devlukas.basicauthentication.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class PasswordHashingExecutorTest {
+
+    private static final String SIGNUP_BODY = "{\"username\":\"valid_user_email@email.com\",\"password\":\"Valid_password_1*\"}";
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /*
+    * One thread and one queue slot: the first hash blocks the thread, the
+    * second waits in the queue and the third has nowhere to go.
+    */
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(new BlockingPasswordEncoder(),
+            new PasswordHashingProperties(1, 1), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    public void encode_shouldReject_whenPoolAndQueueAreFull() throws Exception {
+        var pending = saturate();
+
+        Assertions.assertThatThrownBy(() -> executor.encode("Valid_password_1*"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        Assertions.assertThat(meterRegistry.counter("auth.password.hash.rejections").count()).isEqualTo(1);
+
+        release.countDown();
+        for(var hash : pending)
+            Assertions.assertThat(hash.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+    }
+
+    @Test
+    public void singUp_shouldReturnStatusCode503WithRetryAfter_whenPasswordHashingIsSaturated() throws Exception {
+        var userService = new UserService(null, new OffloadingPasswordEncoder(executor), event -> { },
+                new DefaultListableBeanFactory().getBeanProvider(BreachedPasswordFilter.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BasicAuthnController(userService, null))
+                .setControllerAdvice(new ExceptionHandlerSource())
+                .build();
+
+        saturate();
+
+        var response = mockMvc.perform(post("/api/v1/basic-authn/singup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SIGNUP_BODY))
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(response.getContentAsString()).contains("Server is busy, try again later");
+    }
+
+    /*
+    * Occupies the only thread and the only queue slot, returning once both
+    * are taken.
+    */
+    private ArrayList<CompletableFuture<String>> saturate() throws InterruptedException {
+        var pending = new ArrayList<CompletableFuture<String>>();
+
+        pending.add(CompletableFuture.supplyAsync(() -> executor.encode("first")));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        pending.add(CompletableFuture.supplyAsync(() -> executor.encode("second")));
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(queued() < 1 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        Assertions.assertThat(queued()).isEqualTo(1);
+
+        return pending;
+    }
+
+    private double queued() {
+        return meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value();
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
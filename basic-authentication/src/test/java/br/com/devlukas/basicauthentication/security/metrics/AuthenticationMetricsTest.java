@@ -0,0 +1,143 @@
+package br.com.devlukas.basicauthentication.security.metrics;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import br.com.devlukas.basicauthentication.security.cache.CachingUserDetailsService;
+import br.com.devlukas.basicauthentication.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+/*
+* The user details cache is on, so these also check that it still hears
+* about password changes while wrapped by the instrumented lookup.
+*/
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "basic-authn.user-details-cache.enabled=true")
+class AuthenticationMetricsTest {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final String USERNAME = "metrics_user_email@email.com";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    private static final String CHANGED_PASSWORD = "Changed_password_1*";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CachingUserDetailsService cachingUserDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USERNAME, passwordEncoder.encode(PASSWORD)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        cachingUserDetailsService.evict(USERNAME);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldRecordSuccessAndFoundLookup_whenCredentialsAreValid() {
+        var success = authentications("success", "none");
+        var found = lookups("found");
+
+        Assertions.assertThat(login(USERNAME, PASSWORD).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Assertions.assertThat(authentications("success", "none")).isEqualTo(success + 1);
+        Assertions.assertThat(lookups("found")).isEqualTo(found + 1);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldRecordBadCredentials_whenPasswordIsWrong() {
+        var failures = authentications("failure", "bad_credentials");
+        var challenges = entryPointInvocations("bad_credentials");
+
+        Assertions.assertThat(login(USERNAME, "Wrong_password_1*").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        Assertions.assertThat(authentications("failure", "bad_credentials")).isEqualTo(failures + 1);
+        Assertions.assertThat(entryPointInvocations("bad_credentials")).isEqualTo(challenges + 1);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldRecordNotFoundLookup_whenUserIsUnknown() {
+        var notFound = lookups("not_found");
+        var failures = authentications("failure", "bad_credentials");
+
+        login("unknown_metrics_user@email.com", PASSWORD);
+
+        Assertions.assertThat(lookups("not_found")).isEqualTo(notFound + 1);
+        Assertions.assertThat(authentications("failure", "bad_credentials")).isEqualTo(failures + 1);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldRecordInsufficientAuthentication_whenNoCredentialsAreSent() {
+        var challenges = entryPointInvocations("insufficient_authentication");
+
+        testRestTemplate.exchange(BASE_URL, HttpMethod.GET, null, String.class);
+
+        Assertions.assertThat(entryPointInvocations("insufficient_authentication")).isEqualTo(challenges + 1);
+    }
+
+    @Test
+    public void prometheus_shouldRequireAuthentication_whenHealthIsOpen() {
+        Assertions.assertThat(testRestTemplate.getForEntity("/actuator/health", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(testRestTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldAcceptOnlyNewPassword_whenPasswordChangedAfterCaching() {
+        Assertions.assertThat(login(USERNAME, PASSWORD).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        userService.updateEncodedPassword(USERNAME, passwordEncoder.encode(CHANGED_PASSWORD));
+
+        Assertions.assertThat(login(USERNAME, CHANGED_PASSWORD).getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(login(USERNAME, PASSWORD).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<String> login(String username, String password) {
+        return testRestTemplate.withBasicAuth(username, password)
+                .exchange(BASE_URL, HttpMethod.GET, null, String.class);
+    }
+
+    private long authentications(String result, String reason) {
+        return meterRegistry.get("auth.authentication").tag("result", result).tag("reason", reason).timer().count();
+    }
+
+    private long lookups(String result) {
+        return meterRegistry.get("auth.user.lookup").tag("result", result).timer().count();
+    }
+
+    private double entryPointInvocations(String reason) {
+        return meterRegistry.get("auth.entry-point.invocations").tag("reason", reason).counter().count();
+    }
+}
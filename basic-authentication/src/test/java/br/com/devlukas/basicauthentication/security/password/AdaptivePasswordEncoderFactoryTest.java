@@ -0,0 +1,47 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+class AdaptivePasswordEncoderFactoryTest {
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    private final PasswordEncoderProperties properties = new PasswordEncoderProperties(
+            AdaptivePasswordEncoderFactory.BCRYPT, false, Duration.ofMillis(100), 4, 16, 6,
+            new PasswordEncoderProperties.Argon2(16, 32, 1, 1024, 1));
+
+    @Test
+    public void calibrate_shouldReturnMinStrength_whenTargetIsBelowOneHash() {
+        Assertions.assertThat(BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 8)).isEqualTo(4);
+    }
+
+    @Test
+    public void calibrate_shouldReturnMaxStrength_whenTargetIsFarAboveIt() {
+        Assertions.assertThat(BCryptStrengthCalibrator.calibrate(Duration.ofHours(1), 4, 8)).isEqualTo(8);
+    }
+
+    @Test
+    public void upgradeEncoding_shouldReportStaleHashes_whenStrengthOrAlgorithmDiffers() {
+        var encoder = AdaptivePasswordEncoderFactory.create(properties);
+
+        var weaker = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        var argon2 = new Argon2PasswordEncoder(16, 32, 1, 1024, 1).encode(PASSWORD);
+
+        Assertions.assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        Assertions.assertThat(encoder.upgradeEncoding("{bcrypt}" + weaker)).isTrue();
+        Assertions.assertThat(encoder.upgradeEncoding("{argon2}" + argon2)).isTrue();
+        Assertions.assertThat(encoder.upgradeEncoding(encoder.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    public void matches_shouldAcceptUnprefixedBCryptHashes_storedBeforeTheDelegatingEncoder() {
+        var encoder = AdaptivePasswordEncoderFactory.create(properties);
+
+        Assertions.assertThat(encoder.matches(PASSWORD, new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+    }
+}
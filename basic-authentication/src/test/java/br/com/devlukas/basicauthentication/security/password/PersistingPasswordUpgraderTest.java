@@ -0,0 +1,60 @@
+package br.com.devlukas.basicauthentication.security.password;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PersistingPasswordUpgraderTest {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final String USERNAME = "stale_hash_user@email.com";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void login_shouldRehashWithConfiguredEncoder_whenStoredHashHasStrength4() {
+        /*
+        * Unprefixed, as hashes were stored before the delegating encoder,
+        * and far below the strength of the test profile.
+        */
+        var staleHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        userRepository.save(new User(USERNAME, staleHash));
+
+        var exchange = testRestTemplate.withBasicAuth(USERNAME, PASSWORD)
+                .exchange(BASE_URL, HttpMethod.GET, null, String.class);
+
+        var storedHash = userRepository.findByEmail(USERNAME).orElseThrow().getPassword();
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(storedHash).isNotEqualTo(staleHash).startsWith("{bcrypt}$2a$10$");
+        Assertions.assertThat(passwordEncoder.upgradeEncoding(storedHash)).isFalse();
+        Assertions.assertThat(passwordEncoder.matches(PASSWORD, storedHash)).isTrue();
+    }
+}
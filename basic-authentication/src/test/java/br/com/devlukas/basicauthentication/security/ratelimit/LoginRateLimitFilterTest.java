@@ -0,0 +1,119 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"basic-authn.login-rate-limit.enabled=true",
+                "basic-authn.login-rate-limit.username-capacity=3",
+                "basic-authn.login-rate-limit.address-capacity=1000"})
+class LoginRateLimitFilterTest {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    private static final String WRONG_PASSWORD = "Wrong_password_1*";
+
+    private static final int PARALLEL_ATTEMPTS = 12;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnStatusCode429WithRetryAfter_whenFailedAttemptsRanOut() {
+        var username = "locked_user_email@email.com";
+        userRepository.save(new User(username, passwordEncoder.encode(PASSWORD)));
+
+        for(int i = 0; i < 3; i++)
+            Assertions.assertThat(login(username, WRONG_PASSWORD).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        var exchange = login(username, PASSWORD);
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Assertions.assertThat(Long.parseLong(exchange.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isPositive();
+        Assertions.assertThat(exchange.getBody()).contains("Too many failed login attempts");
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldNotThrottle_whenLoginsSucceed() {
+        var username = "busy_user_email@email.com";
+        userRepository.save(new User(username, passwordEncoder.encode(PASSWORD)));
+
+        for(int i = 0; i < 10; i++)
+            Assertions.assertThat(login(username, PASSWORD).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Assertions.assertThat(login(username, WRONG_PASSWORD).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldLetAtMostCapacityThrough_whenBadAttemptsAreConcurrent() throws Exception {
+        var username = "stuffed_user_email@email.com";
+        userRepository.save(new User(username, passwordEncoder.encode(PASSWORD)));
+
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(PARALLEL_ATTEMPTS);
+
+        try {
+            var attempts = new ArrayList<Future<HttpStatusCode>>();
+            for(int i = 0; i < PARALLEL_ATTEMPTS; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return login(username, WRONG_PASSWORD).getStatusCode();
+                }));
+            }
+
+            start.countDown();
+
+            var unauthorized = 0;
+            var throttled = 0;
+            for(var attempt : attempts) {
+                var status = attempt.get();
+                if(HttpStatus.UNAUTHORIZED.equals(status))
+                    unauthorized++;
+                else if(HttpStatus.TOO_MANY_REQUESTS.equals(status))
+                    throttled++;
+            }
+
+            Assertions.assertThat(unauthorized).isEqualTo(3);
+            Assertions.assertThat(throttled).isEqualTo(PARALLEL_ATTEMPTS - 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<String> login(String username, String password) {
+        return testRestTemplate.withBasicAuth(username, password)
+                .exchange(BASE_URL, HttpMethod.GET, null, String.class);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.devlukas.basicauthentication.security.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucketSketchTest {
+
+    private static final String KEY = "valid_user_email@email.com";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final TokenBucketSketch sketch = new TokenBucketSketch(3, 1000, 4, 1024, clock::get);
+
+    @Test
+    public void retryAfterMillis_shouldReturnZero_whileTokensAreLeft() {
+        sketch.consume(KEY);
+        sketch.consume(KEY);
+
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isZero();
+    }
+
+    @Test
+    public void retryAfterMillis_shouldReturnTimeUntilNextToken_whenBucketIsEmpty() {
+        sketch.consume(KEY);
+        sketch.consume(KEY);
+        sketch.consume(KEY);
+
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isEqualTo(1000);
+
+        clock.addAndGet(400);
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isEqualTo(600);
+
+        clock.addAndGet(600);
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isZero();
+    }
+
+    @Test
+    public void retryAfterMillis_shouldNotLimitOtherKeys_whenOneBucketIsEmpty() {
+        for(int i = 0; i < 10; i++)
+            sketch.consume(KEY);
+
+        Assertions.assertThat(sketch.retryAfterMillis("other_user_email@email.com")).isZero();
+    }
+
+    @Test
+    public void consume_shouldCountEveryAttempt_whenCalledConcurrently() throws InterruptedException {
+        var threads = new Thread[8];
+        for(int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for(int j = 0; j < 1000; j++)
+                    sketch.consume(KEY);
+            });
+            threads[i].start();
+        }
+        for(var thread : threads)
+            thread.join();
+
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isEqualTo((8 * 1000 - 2) * 1000L);
+    }
+
+    @Test
+    public void tryConsume_shouldTakeNothing_whenBucketIsEmpty() {
+        for(int i = 0; i < 3; i++)
+            Assertions.assertThat(sketch.tryConsume(KEY)).isZero();
+
+        Assertions.assertThat(sketch.tryConsume(KEY)).isEqualTo(1000);
+        Assertions.assertThat(sketch.tryConsume(KEY)).isEqualTo(1000);
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isEqualTo(1000);
+    }
+
+    @Test
+    public void refund_shouldGiveTokenBack_whenAttemptSucceeded() {
+        for(int i = 0; i < 3; i++)
+            sketch.tryConsume(KEY);
+
+        sketch.refund(KEY);
+
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isZero();
+        Assertions.assertThat(sketch.tryConsume(KEY)).isZero();
+        Assertions.assertThat(sketch.tryConsume(KEY)).isEqualTo(1000);
+    }
+
+    @Test
+    public void tryConsume_shouldLetAtMostCapacityThrough_whenCalledConcurrently() throws InterruptedException {
+        var passed = new AtomicInteger();
+        var threads = new Thread[8];
+        for(int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for(int j = 0; j < 1000; j++)
+                    if(sketch.tryConsume(KEY) == 0)
+                        passed.incrementAndGet();
+            });
+            threads[i].start();
+        }
+        for(var thread : threads)
+            thread.join();
+
+        Assertions.assertThat(passed.get()).isEqualTo(3);
+        Assertions.assertThat(sketch.retryAfterMillis(KEY)).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+class SessionTokenAuthenticationFilterTest {
+
+    private static final String USERNAME = "valid_user_email@email.com";
+
+    private final SessionTokenService sessionTokenService = new SessionTokenService(
+            new SessionTokenProperties(true, Duration.ofMinutes(15), "X-Auth-Token", 0, List.of(
+                    new SessionTokenProperties.Key(0, Base64.getEncoder().encodeToString("a".repeat(32).getBytes())))),
+            Clock.systemUTC());
+
+    private final RecordingEventPublisher eventPublisher = new RecordingEventPublisher();
+
+    private final SessionTokenAuthenticationFilter filter = new SessionTokenAuthenticationFilter(sessionTokenService,
+            (request, response, ex) -> response.setStatus(401), eventPublisher);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void doFilter_shouldPublishSuccessWithRemoteAddress_whenTokenIsValid() throws Exception {
+        filter.doFilter(bearer(sessionTokenService.issue(USERNAME)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Assertions.assertThat(eventPublisher.successes).singleElement().satisfies(authentication -> {
+            Assertions.assertThat(authentication.getName()).isEqualTo(USERNAME);
+            Assertions.assertThat(((WebAuthenticationDetails) authentication.getDetails()).getRemoteAddress())
+                    .isEqualTo("10.0.0.1");
+        });
+        Assertions.assertThat(eventPublisher.failures).isEmpty();
+    }
+
+    @Test
+    public void doFilter_shouldPublishFailure_whenTokenIsInvalid() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(bearer("AgAAAAGNBuQ9MHZhbGlkX3VzZXI"), response, new MockFilterChain());
+
+        Assertions.assertThat(response.getStatus()).isEqualTo(401);
+        Assertions.assertThat(eventPublisher.failures).hasSize(1);
+        Assertions.assertThat(eventPublisher.successes).isEmpty();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/basic-authn");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static class RecordingEventPublisher implements AuthenticationEventPublisher {
+
+        private final List<Authentication> successes = new ArrayList<>();
+
+        private final List<AuthenticationException> failures = new ArrayList<>();
+
+        @Override
+        public void publishAuthenticationSuccess(Authentication authentication) {
+            successes.add(authentication);
+        }
+
+        @Override
+        public void publishAuthenticationFailure(AuthenticationException exception, Authentication authentication) {
+            failures.add(exception);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import br.com.devlukas.basicauthentication.service.UserService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "basic-authn.session-token.enabled=true")
+class SessionTokenAuthenticationTest {
+
+    private static final String BASE_URL = "/api/v1/basic-authn";
+
+    private static final String TOKEN_HEADER = "X-Auth-Token";
+
+    private static final String USERNAME = "token_user_email@email.com";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldAcceptIssuedToken_whenBasicLoginSucceeded() {
+        userRepository.save(new User(USERNAME, passwordEncoder.encode(PASSWORD)));
+
+        var basic = testRestTemplate.withBasicAuth(USERNAME, PASSWORD)
+                .exchange(BASE_URL, HttpMethod.GET, null, String.class);
+        var token = basic.getHeaders().getFirst(TOKEN_HEADER);
+
+        Assertions.assertThat(basic.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(token).isNotBlank();
+
+        var bearer = withBearer(token);
+
+        Assertions.assertThat(bearer.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(bearer.getHeaders().containsKey(TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldReturnStatusCode401_whenTokenIsInvalid() {
+        var exchange = withBearer("AgAAAAGNBuQ9MHZhbGlkX3VzZXI");
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(exchange.getBody()).contains("Email or password is incorrect");
+    }
+
+    @Test
+    public void onlyAuthenticated_shouldRejectIssuedToken_whenPasswordChanged() {
+        userRepository.save(new User(USERNAME, passwordEncoder.encode(PASSWORD)));
+
+        var token = testRestTemplate.withBasicAuth(USERNAME, PASSWORD)
+                .exchange(BASE_URL, HttpMethod.GET, null, String.class)
+                .getHeaders().getFirst(TOKEN_HEADER);
+
+        userService.updateEncodedPassword(USERNAME, passwordEncoder.encode("Changed_password_1*"));
+
+        Assertions.assertThat(withBearer(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<String> withBearer(String token) {
+        var headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return testRestTemplate.exchange(BASE_URL, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
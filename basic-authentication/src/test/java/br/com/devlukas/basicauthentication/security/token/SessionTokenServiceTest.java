@@ -0,0 +1,160 @@
+package br.com.devlukas.basicauthentication.security.token;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+class SessionTokenServiceTest {
+
+    private static final String USERNAME = "valid_user_email@email.com";
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:15:30Z");
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private static final SessionTokenProperties.Key KEY_0 = key(0, 'a');
+
+    private static final SessionTokenProperties.Key KEY_1 = key(1, 'b');
+
+    @Test
+    public void verify_shouldReturnUsername_whenTokenWasIssuedByTheService() {
+        var service = service(NOW, 0, KEY_0);
+
+        Assertions.assertThat(service.verify(service.issue(USERNAME))).isEqualTo(USERNAME);
+        Assertions.assertThat(service.verify(service.issue("caf\u00e9@email.com"))).isEqualTo("caf\u00e9@email.com");
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenAnyByteIsTampered() {
+        var service = service(NOW, 0, KEY_0);
+        var token = Base64.getUrlDecoder().decode(service.issue(USERNAME));
+
+        for(var index : new int[]{2, 10, token.length - 1}) {
+            var tampered = token.clone();
+            tampered[index] ^= 1;
+            Assertions.assertThat(service.verify(encode(tampered))).isNull();
+        }
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenTokenIsExpired() {
+        var token = service(NOW, 0, KEY_0).issue(USERNAME);
+
+        Assertions.assertThat(service(NOW.plus(TTL), 0, KEY_0).verify(token)).isEqualTo(USERNAME);
+        Assertions.assertThat(service(NOW.plus(TTL).plusMillis(1), 0, KEY_0).verify(token)).isNull();
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenKeyIdIsUnknown() {
+        var token = service(NOW, 1, KEY_0, KEY_1).issue(USERNAME);
+
+        Assertions.assertThat(service(NOW, 0, KEY_0).verify(token)).isNull();
+    }
+
+    @Test
+    public void verify_shouldAcceptOldKey_whileRotatingToNewKey() {
+        var oldToken = service(NOW, 0, KEY_0).issue(USERNAME);
+        var rotated = service(NOW, 1, KEY_0, KEY_1);
+        var newToken = rotated.issue(USERNAME);
+
+        Assertions.assertThat(rotated.verify(oldToken)).isEqualTo(USERNAME);
+        Assertions.assertThat(rotated.verify(newToken)).isEqualTo(USERNAME);
+        Assertions.assertThat(Base64.getUrlDecoder().decode(newToken)[1]).isEqualTo((byte) 1);
+        Assertions.assertThat(service(NOW, 1, KEY_1).verify(oldToken)).isNull();
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenTokenIsNotBase64() {
+        var service = service(NOW, 0, KEY_0);
+
+        Assertions.assertThat(service.verify("not base64!")).isNull();
+        Assertions.assertThat(service.verify("")).isNull();
+        Assertions.assertThat(service.verify(encode(new byte[12]))).isNull();
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenVersionDiffers() {
+        var service = service(NOW, 0, KEY_0);
+        var token = Base64.getUrlDecoder().decode(service.issue(USERNAME));
+        token[0] = 1;
+
+        Assertions.assertThat(service.verify(encode(token))).isNull();
+    }
+
+    @Test
+    public void verify_shouldReturnNull_whenCredentialsChangedAfterIssue() {
+        var clock = new AdjustableClock(NOW);
+        var service = new SessionTokenService(properties(0, KEY_0), clock);
+        var token = service.issue(USERNAME);
+        var otherToken = service.issue("other_user_email@email.com");
+
+        clock.advance(Duration.ofSeconds(1));
+        service.onCredentialsChanged(new UserCredentialsChangedEvent(USERNAME));
+
+        Assertions.assertThat(service.verify(token)).isNull();
+        Assertions.assertThat(service.verify(otherToken)).isEqualTo("other_user_email@email.com");
+        Assertions.assertThat(service.verify(service.issue(USERNAME))).isEqualTo(USERNAME);
+    }
+
+    @Test
+    public void constructor_shouldReject_whenSecretIsShorterThan32Bytes() {
+        var shortKey = new SessionTokenProperties.Key(0, Base64.getEncoder().encodeToString(new byte[31]));
+
+        Assertions.assertThatThrownBy(() -> service(NOW, 0, shortKey))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+
+    private static SessionTokenService service(Instant now, int activeKeyId, SessionTokenProperties.Key... keys) {
+        return new SessionTokenService(properties(activeKeyId, keys), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static SessionTokenProperties properties(int activeKeyId, SessionTokenProperties.Key... keys) {
+        return new SessionTokenProperties(true, TTL, "X-Auth-Token", activeKeyId, List.of(keys));
+    }
+
+    private static SessionTokenProperties.Key key(int id, char fill) {
+        return new SessionTokenProperties.Key(id, Base64.getEncoder().encodeToString(
+                String.valueOf(fill).repeat(32).getBytes()));
+    }
+
+    private static String encode(byte[] token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static final class AdjustableClock extends Clock {
+
+        private Instant instant;
+
+        AdjustableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
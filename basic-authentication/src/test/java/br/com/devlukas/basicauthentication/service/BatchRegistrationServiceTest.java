@@ -0,0 +1,257 @@
+package br.com.devlukas.basicauthentication.service;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO;
+import br.com.devlukas.basicauthentication.dto.BatchRegistrationResultDTO.RecordError;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import br.com.devlukas.basicauthentication.repository.UserStore;
+import br.com.devlukas.basicauthentication.security.breach.BreachedPasswordFilter;
+import br.com.devlukas.basicauthentication.security.hashing.PasswordHashingExecutor;
+import br.com.devlukas.basicauthentication.service.exceptions.BatchTooLargeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "basic-authn.batch-signup.max-body-size=1KB")
+class BatchRegistrationServiceTest {
+
+    private static final String BATCH_URL = "/api/v1/basic-authn/singup/batch";
+
+    private static final String ADMIN = "batch_admin@email.com";
+
+    private static final String PASSWORD = "Valid_password_1*";
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<BreachedPasswordFilter> breachedPasswordFilter;
+
+    @Autowired
+    private BatchRegistrationProperties batchRegistrationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(ADMIN, passwordEncoder.encode(PASSWORD)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void singUpBatch_shouldRegisterEveryRecord_whenBodyIsNdjson() {
+        var body = record("ndjson_1@email.com") + "\n" + record("ndjson_2@email.com") + "\n";
+
+        var exchange = post(body, MediaType.APPLICATION_NDJSON);
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(exchange.getBody()).isEqualTo(new BatchRegistrationResultDTO(2, 2, List.of()));
+        Assertions.assertThat(userStore.findExistingEmails(List.of("ndjson_1@email.com", "ndjson_2@email.com")))
+                .hasSize(2);
+    }
+
+    @Test
+    public void singUpBatch_shouldRegisterEveryRecord_whenBodyIsJsonArray() {
+        var body = "[" + record("array_1@email.com") + "," + record("array_2@email.com") + "]";
+
+        var exchange = post(body, MediaType.APPLICATION_JSON);
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(exchange.getBody()).isEqualTo(new BatchRegistrationResultDTO(2, 2, List.of()));
+    }
+
+    @Test
+    public void singUpBatch_shouldReportRecordByIndex_whenRecordIsInvalid() {
+        var body = record("valid_1@email.com") + "\n"
+                + "{\"username\":\"invalid_email\",\"password\":\"" + PASSWORD + "\"}\n"
+                + "{\"username\":\"valid_2@email.com\",\"password\":\"invalid_password\"}\n";
+
+        var result = post(body, MediaType.APPLICATION_NDJSON).getBody();
+
+        Assertions.assertThat(result.received()).isEqualTo(3);
+        Assertions.assertThat(result.registered()).isEqualTo(1);
+        Assertions.assertThat(result.errors()).containsExactly(
+                new RecordError(1, "invalid_email", List.of("Provide a valid email")),
+                new RecordError(2, "valid_2@email.com", List.of("Password requires at least 8 characters, "
+                        + "with numbers, upper and lower case letters and special characters")));
+    }
+
+    @Test
+    public void singUpBatch_shouldRegisterFirstOccurrenceOnly_whenEmailRepeatsInBatch() {
+        var body = record("repeated@email.com") + "\n" + record("repeated@email.com") + "\n";
+
+        var result = post(body, MediaType.APPLICATION_NDJSON).getBody();
+
+        Assertions.assertThat(result.registered()).isEqualTo(1);
+        Assertions.assertThat(result.errors()).containsExactly(
+                new RecordError(1, "repeated@email.com", List.of("repeated@email.com duplicated in batch.")));
+    }
+
+    @Test
+    public void singUpBatch_shouldReportAlreadyRegistered_whenEmailExists() {
+        var body = record(ADMIN) + "\n" + record("new_user@email.com") + "\n";
+
+        var result = post(body, MediaType.APPLICATION_NDJSON).getBody();
+
+        Assertions.assertThat(result.registered()).isEqualTo(1);
+        Assertions.assertThat(result.errors()).containsExactly(
+                new RecordError(0, ADMIN, List.of(ADMIN + " already registered.")));
+    }
+
+    @Test
+    public void registerUsers_shouldFallBackToSingleInserts_whenBulkInsertHitsConcurrentSignup() throws Exception {
+        /*
+        * The existence query misses ADMIN, as if it had been registered
+        * between that query and the bulk insert.
+        */
+        var service = new BatchRegistrationService(new StaleExistenceUserStore(userStore), passwordHashingExecutor,
+                validator, objectMapper, eventPublisher, breachedPasswordFilter, batchRegistrationProperties);
+        var body = record("before@email.com") + "\n" + record(ADMIN) + "\n" + record("after@email.com") + "\n";
+
+        var result = service.registerUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThat(result.registered()).isEqualTo(2);
+        Assertions.assertThat(result.errors()).containsExactly(
+                new RecordError(1, ADMIN, List.of(ADMIN + " already registered.")));
+        Assertions.assertThat(userStore.findExistingEmails(List.of("before@email.com", "after@email.com")))
+                .hasSize(2);
+    }
+
+    @Test
+    public void registerUsers_shouldStopBatch_whenRecordsExceedMaxRecords() {
+        var service = new BatchRegistrationService(userStore, passwordHashingExecutor, validator, objectMapper,
+                eventPublisher, breachedPasswordFilter, new BatchRegistrationProperties(2, DataSize.ofKilobytes(1)));
+        var body = record("limit_1@email.com") + "\n" + record("limit_2@email.com") + "\n"
+                + record("limit_3@email.com") + "\n";
+
+        Assertions.assertThatThrownBy(() -> service.registerUsers(
+                        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(BatchTooLargeException.class)
+                .hasMessage("Batch cannot have more than 2 records, 0 records were registered before the batch was stopped.");
+        Assertions.assertThat(userStore.findExistingEmails(List.of("limit_1@email.com", "limit_2@email.com")))
+                .isEmpty();
+    }
+
+    @Test
+    public void singUpBatch_shouldReturnStatusCode413_whenBodyExceedsMaxBodySize() {
+        var body = String.join("\n", IntStream.range(0, 30)
+                .mapToObj(i -> record("oversized_%d@email.com".formatted(i))).toList());
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+
+        var exchange = testRestTemplate.withBasicAuth(ADMIN, PASSWORD)
+                .postForEntity(BATCH_URL, new HttpEntity<>(body, headers), String.class);
+
+        Assertions.assertThat(exchange.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        Assertions.assertThat(userStore.findExistingEmails(List.of("oversized_0@email.com"))).isEmpty();
+    }
+
+    @Test
+    public void singUpBatch_shouldAssignDistinctSequenceIds_whenUsersAreBulkInserted() {
+        var emails = List.of("id_1@email.com", "id_2@email.com", "id_3@email.com");
+        var body = String.join("\n", emails.stream().map(BatchRegistrationServiceTest::record).toList());
+
+        post(body, MediaType.APPLICATION_NDJSON);
+
+        var ids = new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "select id from users_ where email in (:emails)", Map.of("emails", emails), Long.class);
+        var adminId = jdbcTemplate.queryForObject("select id from users_ where email = ?", Long.class, ADMIN);
+
+        Assertions.assertThat(ids).hasSize(3).doesNotHaveDuplicates().allSatisfy(id ->
+                Assertions.assertThat(id).isPositive().isNotEqualTo(adminId));
+    }
+
+    private ResponseEntity<BatchRegistrationResultDTO> post(String body, MediaType contentType) {
+        var headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return testRestTemplate.withBasicAuth(ADMIN, PASSWORD)
+                .postForEntity(BATCH_URL, new HttpEntity<>(body, headers), BatchRegistrationResultDTO.class);
+    }
+
+    private static String record(String username) {
+        return "{\"username\":\"%s\",\"password\":\"%s\"}".formatted(username, PASSWORD);
+    }
+
+    private record StaleExistenceUserStore(UserStore delegate) implements UserStore {
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            return delegate.findByEmail(email);
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            return Set.of();
+        }
+
+        @Override
+        public User insert(User user) {
+            return delegate.insert(user);
+        }
+
+        @Override
+        public List<User> insertAll(List<User> users) {
+            return delegate.insertAll(users);
+        }
+
+        @Override
+        public int updatePassword(String email, String encodedPassword) {
+            return delegate.updatePassword(email, encodedPassword);
+        }
+    }
+}
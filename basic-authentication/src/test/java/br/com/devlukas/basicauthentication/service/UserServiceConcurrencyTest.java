@@ -0,0 +1,71 @@
+package br.com.devlukas.basicauthentication.service;
+
+import br.com.devlukas.basicauthentication.domain.User;
+import br.com.devlukas.basicauthentication.repository.UserRepository;
+import br.com.devlukas.basicauthentication.service.exceptions.UserAlreadyRegisteredException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class UserServiceConcurrencyTest {
+
+    private static final int PARALLEL_SIGNUPS = 16;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void registerUser_shouldRegisterExactlyOnce_whenSameEmailIsSignedUpConcurrently() throws Exception {
+        var email = "concurrent_user_email@email.com";
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(PARALLEL_SIGNUPS);
+
+        try {
+            var attempts = new ArrayList<Future<Boolean>>();
+            for(int i = 0; i < PARALLEL_SIGNUPS; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        userService.registerUser(new User(email, "Valid_password_1*"));
+                        return true;
+                    } catch (UserAlreadyRegisteredException ex) {
+                        return false;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            var successes = 0;
+            for(var attempt : attempts) {
+                if(attempt.get())
+                    successes++;
+            }
+
+            Assertions.assertThat(successes).isEqualTo(1);
+            Assertions.assertThat(userRepository.findAll())
+                    .filteredOn(user -> user.getEmail().equals(email))
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
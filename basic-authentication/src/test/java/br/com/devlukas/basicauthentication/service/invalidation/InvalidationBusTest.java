@@ -0,0 +1,94 @@
+package br.com.devlukas.basicauthentication.service.invalidation;
+
+import br.com.devlukas.basicauthentication.service.events.UserCredentialsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class InvalidationBusTest {
+
+    private final List<Object> nodeAEvents = new CopyOnWriteArrayList<>();
+
+    private final List<Object> nodeBEvents = new CopyOnWriteArrayList<>();
+
+    private InvalidationBus nodeA;
+
+    private InvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() {
+        /*
+        * Flushes are triggered by the tests, or by a full batch.
+        */
+        var properties = new InvalidationProperties(true, UUID.randomUUID().toString(), Duration.ofHours(1), 500);
+
+        nodeA = new InvalidationBus(new LoopbackInvalidationTransport(properties.channel()), properties,
+                nodeAEvents::add, new SimpleMeterRegistry());
+        nodeB = new InvalidationBus(new LoopbackInvalidationTransport(properties.channel()), properties,
+                nodeBEvents::add, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    @Test
+    public void flush_shouldSendEachEmailOnce_whenItIsWrittenRepeatedly() {
+        for(int i = 0; i < 100; i++) {
+            for(int j = 0; j < 10; j++)
+                nodeA.onCredentialsChanged(new UserCredentialsChangedEvent("user_%d@email.com".formatted(j)));
+        }
+
+        nodeA.flush();
+
+        Assertions.assertThat(nodeBEvents).hasSize(1);
+        Assertions.assertThat(((RemoteCredentialsChangedEvent) nodeBEvents.get(0)).emails())
+                .hasSize(10)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void flush_shouldSplitPendingEmailsIntoBatches_whenMoreThanMaxBatchSizeArePending() throws InterruptedException {
+        for(int i = 0; i < 1200; i++)
+            nodeA.onCredentialsChanged(new UserCredentialsChangedEvent("user_%d@email.com".formatted(i)));
+
+        nodeA.destroy();
+
+        var emails = nodeBEvents.stream()
+                .map(RemoteCredentialsChangedEvent.class::cast)
+                .peek(event -> Assertions.assertThat(event.emails()).hasSizeLessThanOrEqualTo(500))
+                .flatMap(event -> event.emails().stream())
+                .toList();
+        Assertions.assertThat(emails).hasSize(1200).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void onCredentialsChanged_shouldSendRightAway_whenBusIsDestroyed() throws InterruptedException {
+        nodeA.destroy();
+
+        for(int i = 0; i < 500; i++)
+            nodeA.onCredentialsChanged(new UserCredentialsChangedEvent("user_%d@email.com".formatted(i)));
+
+        Assertions.assertThat(nodeBEvents).hasSize(500);
+    }
+
+    @Test
+    public void flush_shouldNotDeliverBatchToItsOrigin() {
+        nodeA.onCredentialsChanged(new UserCredentialsChangedEvent("valid_user_email@email.com"));
+
+        nodeA.flush();
+
+        Assertions.assertThat(nodeAEvents).isEmpty();
+        Assertions.assertThat(nodeBEvents).containsExactly(
+                new RemoteCredentialsChangedEvent(List.of("valid_user_email@email.com")));
+    }
+}